@@ -46,6 +46,7 @@ else
     abstract=Abstract
 fi
 class=${class#Striped}
+class=${class#Concurrent}
 
 # Now we rip off the types.
 rem=${class##[A-Z]+([a-z])}
@@ -146,6 +147,10 @@ $(if [[ "${CLASS[$v]}" != "" ]]; then\
 		echo "#define VALUES_PRIMITIVE 1\\n";\
 		if [[ "${CLASS[$v]}" != "Boolean" ]]; then\
 			echo "#define JDK_PRIMITIVE_VALUE_CONSUMER java.util.function.${TYPE_CAP[$wv]}Consumer\\n";\
+			echo "#define JDK_PRIMITIVE_VALUE_BINARY_OPERATOR java.util.function.${TYPE_CAP[$wv]}BinaryOperator\\n";\
+			echo "#define JDK_PRIMITIVE_VALUE_BINARY_OPERATOR_APPLY applyAs${TYPE_CAP[$wv]}\\n";\
+			echo "#define JDK_PRIMITIVE_VALUE_UNARY_OPERATOR java.util.function.${TYPE_CAP[$wv]}UnaryOperator\\n";\
+			echo "#define JDK_PRIMITIVE_VALUE_UNARY_OPERATOR_APPLY applyAs${TYPE_CAP[$wv]}\\n";\
 		fi\
 	else\
 		echo "#define VALUES_REFERENCE 1\\n";\
@@ -260,6 +265,7 @@ fi)\
 "#define VALUE_SUPER_GENERIC <? super V>\n"\
 "#define VALUE_GENERIC_CAST (V)\n"\
 "#define VALUE_GENERIC_ARRAY_CAST (V[])\n"\
+"#define VALUE_GENERIC_BIG_ARRAY_CAST (V[][])\n"\
 "#define SUPPRESS_WARNINGS_VALUE_UNCHECKED @SuppressWarnings(\"unchecked\")\n"\
 "#define SUPPRESS_WARNINGS_VALUE_RAWTYPES @SuppressWarnings(\"rawtypes\")\n"\
 "#else\n"\
@@ -273,6 +279,7 @@ fi)\
 "#define VALUE_SUPER_GENERIC\n"\
 "#define VALUE_GENERIC_CAST\n"\
 "#define VALUE_GENERIC_ARRAY_CAST\n"\
+"#define VALUE_GENERIC_BIG_ARRAY_CAST\n"\
 "#define SUPPRESS_WARNINGS_VALUE_UNCHECKED\n"\
 "#define SUPPRESS_WARNINGS_VALUE_RAWTYPES\n"\
 "#endif\n"\
@@ -282,20 +289,24 @@ fi)\
 "#define KEY_VALUE_GENERIC <K,V>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends K, ? extends V>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super K, ? super V>\n"\
 "#else\n"\
 "#define KEY_VALUE_GENERIC <K>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends K>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super K>\n"\
 "#endif\n"\
 "#else\n"\
 "#if VALUES_REFERENCE\n"\
 "#define KEY_VALUE_GENERIC <V>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends V>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super V>\n"\
 "#else\n"\
 "#define KEY_VALUE_GENERIC\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC\n"\
+"#define KEY_VALUE_SUPER_GENERIC\n"\
 "#endif\n"\
 "#endif\n"\
 \
@@ -309,6 +320,21 @@ fi)\
 "#define SUPPRESS_WARNINGS_KEY_VALUE_UNCHECKED_RAWTYPES\n"\
 "#endif\n"\
 \
+"#if KEYS_REFERENCE\n"\
+"#define KEY_BYTES it.unimi.dsi.fastutil.HashStatistics.REFERENCE_BYTES\n"\
+"#elif KEY_CLASS_Boolean\n"\
+"#define KEY_BYTES 1\n"\
+"#else\n"\
+"#define KEY_BYTES KEY_CLASS.BYTES\n"\
+"#endif\n"\
+"#if VALUES_REFERENCE\n"\
+"#define VALUE_BYTES it.unimi.dsi.fastutil.HashStatistics.REFERENCE_BYTES\n"\
+"#elif VALUE_CLASS_Boolean\n"\
+"#define VALUE_BYTES 1\n"\
+"#else\n"\
+"#define VALUE_BYTES VALUE_CLASS.BYTES\n"\
+"#endif\n"\
+\
 \
 "/* Value methods */\n"\
 \
@@ -342,6 +368,7 @@ fi)\
 "#define INDIRECT_PRIORITY_QUEUE ${TYPE_STD[$k]}IndirectPriorityQueue\n"\
 "#define INDIRECT_DOUBLE_PRIORITY_QUEUE ${TYPE_STD[$k]}IndirectDoublePriorityQueue\n"\
 "#define KEY_CONSUMER ${TYPE_STD[$k]}Consumer\n"\
+"#define KEY_VALUE_CONSUMER ${TYPE_CAP2[$k]}2${TYPE_CAP2[$v]}Consumer\n"\
 "#define KEY_ITERATOR ${TYPE_CAP2[$k]}Iterator\n"\
 "#define KEY_ITERABLE ${TYPE_CAP2[$k]}Iterable\n"\
 "#define KEY_BIDI_ITERATOR ${TYPE_CAP2[$k]}BidirectionalIterator\n"\
@@ -413,6 +440,9 @@ fi)\
 "#define INDIRECT_HEAPS ${TYPE_CAP2[$k]}IndirectHeaps\n"\
 "#define ARRAYS ${TYPE_CAP2[$k]}Arrays\n"\
 "#define BIG_ARRAYS ${TYPE_CAP2[$k]}BigArrays\n"\
+"#define KEY_ATOMIC_ARRAY java.util.concurrent.atomic.Atomic${CLASS[$k]}Array\n"\
+"#define KEY_BUFFER java.nio.${TYPE_CAP2[$k]}Buffer\n"\
+"#define AS_KEY_BUFFER as${TYPE_CAP2[$k]}Buffer\n"\
 "#define ITERATORS ${TYPE_CAP2[$k]}Iterators\n"\
 "#define BIG_LIST_ITERATORS ${TYPE_CAP2[$k]}BigListIterators\n"\
 "#define COMPARATORS ${TYPE_CAP2[$k]}Comparators\n"\
@@ -424,6 +454,10 @@ fi)\
 "#define VALUE_COLLECTIONS ${TYPE_CAP[$v]}Collections\n"\
 "#define VALUE_SETS ${TYPE_CAP[$v]}Sets\n"\
 "#define VALUE_ARRAYS ${TYPE_CAP2[$v]}Arrays\n"\
+"#define VALUE_BIG_ARRAYS ${TYPE_CAP2[$v]}BigArrays\n"\
+"#define VALUE_ATOMIC_ARRAY java.util.concurrent.atomic.Atomic${CLASS[$v]}Array\n"\
+"#define VALUE_BUFFER java.nio.${TYPE_CAP2[$v]}Buffer\n"\
+"#define AS_VALUE_BUFFER as${TYPE_CAP2[$v]}Buffer\n"\
 \
 \
 "/* Implementations */\n"\
@@ -435,10 +469,32 @@ fi)\
 "#define OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}HashMap\n"\
 "#define OPEN_HASH_BIG_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}HashBigMap\n"\
 "#define STRIPED_OPEN_HASH_MAP Striped${TYPE_CAP[$k]}2${TYPE_CAP[$v]}Open${Custom}HashMap\n"\
+"#define CONCURRENT_OPEN_HASH_MAP Concurrent${TYPE_CAP[$k]}2${TYPE_CAP[$v]}OpenHashMap\n"\
+"#define CONCURRENT_COUNTING_MAP Concurrent${TYPE_CAP[$k]}2${TYPE_CAP[$v]}CountingMap\n"\
+"#define OFF_HEAP_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}OffHeapOpenHashMap\n"\
+"#define MAPPED_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}MappedOpenHashMap\n"\
+"#define ROBIN_HOOD_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}RobinHoodHashMap\n"\
+"#define ROBIN_HOOD_HASH_SET ${TYPE_CAP[$k]}RobinHoodHashSet\n"\
+"#define SWISS_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}SwissHashMap\n"\
+"#define CUCKOO_HASH_SET ${TYPE_CAP[$k]}CuckooHashSet\n"\
+"#define CUCKOO_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}CuckooHashMap\n"\
+"#define MINIMAL_PERFECT_HASH_FUNCTION ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}MinimalPerfectHashFunction\n"\
+"#define KEY_INT_OPEN_HASH_MAP ${TYPE_CAP[$k]}2IntOpenHashMap\n"\
+"#define FROZEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}FrozenHashMap\n"\
+"#define FROZEN_HASH_SET ${TYPE_CAP[$k]}FrozenHashSet\n"\
 "#define OPEN_DOUBLE_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}DoubleHashMap\n"\
 "#define ARRAY_SET ${TYPE_CAP[$k]}ArraySet\n"\
 "#define ARRAY_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}ArrayMap\n"\
 "#define LINKED_OPEN_HASH_SET ${TYPE_CAP[$k]}LinkedOpenHashSet\n"\
+"#define LINKED_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}LinkedOpenHashMap\n"\
+"#define LRU_CACHE ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}LRUCache\n"\
+"#define COMPACT_ORDERED_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}CompactOrderedHashMap\n"\
+"#define ADAPTIVE_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}AdaptiveMap\n"\
+"#define SEGMENTED_CACHE ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}SegmentedCache\n"\
+"#define KEY_LONG_OPEN_HASH_MAP ${TYPE_CAP[$k]}2LongOpenHashMap\n"\
+"#define DIRECT_ADDRESS_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}DirectAddressMap\n"\
+"#define DIRECT_ADDRESS_SET ${TYPE_CAP[$k]}DirectAddressSet\n"\
+"#define AGGREGATOR ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}Aggregator\n"\
 "#define AVL_TREE_SET ${TYPE_CAP[$k]}AVLTreeSet\n"\
 "#define RB_TREE_SET ${TYPE_CAP[$k]}RBTreeSet\n"\
 "#define AVL_TREE_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}AVLTreeMap\n"\
@@ -564,6 +620,9 @@ fi)\
 "#define COMPUTE_IF_PRESENT computeIfPresent\n"\
 "#define MERGE merge\n"\
 "#endif\n"\
+"#define COMPUTE_JDK compute${TYPE_CAP[$v]}\n"\
+"#define COMPUTE_IF_PRESENT_JDK compute${TYPE_CAP[$v]}IfPresent\n"\
+"#define MERGE_JDK merge${TYPE_CAP[$v]}\n"\
 \
 \
 \
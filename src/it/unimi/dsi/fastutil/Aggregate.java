@@ -0,0 +1,35 @@
+package it.unimi.dsi.fastutil;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/** An aggregate function computed over the values associated with the same key by the type-specific aggregators
+ * (e.g., {@link it.unimi.dsi.fastutil.ints.Int2LongAggregator}).
+ *
+ * <p>All aggregates are computed as {@code long} values; sums wrap around silently on overflow.
+ */
+
+public enum Aggregate {
+	/** The number of values. */
+	COUNT,
+	/** The sum of the values. */
+	SUM,
+	/** The minimum value. */
+	MIN,
+	/** The maximum value. */
+	MAX
+}
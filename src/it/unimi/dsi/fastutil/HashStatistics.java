@@ -0,0 +1,199 @@
+package it.unimi.dsi.fastutil;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/** A snapshot of the probing behaviour and of the memory usage of an open-addressing hash table.
+ *
+ * <p>Instances of this class are returned by the {@code statistics()} method of open-addressing
+ * hash maps and sets. They are computed by scanning the table when the method is called;
+ * apart from two counters updated when the table is rehashed, keeping track of statistics has no cost.
+ *
+ * <p>The <em>displacement</em> of a key is the distance between the position at which the key is
+ * stored and the position given by its hash (modulo the table size): a successful lookup of the key
+ * examines displacement + 1 positions. The {@linkplain #displacementHistogram() histogram of displacements}, their
+ * {@linkplain #averageDisplacement() average} and their {@linkplain #maxDisplacement() maximum}
+ * describe successful lookups, whereas {@link #averageUnsuccessfulProbes()} is the
+ * expected number of positions examined by a lookup for a key not in the table, assuming that
+ * the hash of the key is uniformly distributed.
+ *
+ * <p>Under uniform hashing and linear probing, the average number of probes of a successful lookup
+ * is about &frac12;(1 + 1/(1 &minus; &alpha;)), and that of an unsuccessful lookup is about
+ * &frac12;(1 + 1/(1 &minus; &alpha;)<sup>2</sup>), where &alpha; is the {@linkplain #load() load};
+ * values much larger than these point at a poor distribution of hash codes.
+ *
+ * <p>Byte counts are estimates: they include only the arrays of the table, and references are
+ * assumed to occupy {@link #REFERENCE_BYTES} bytes. The null key (if present) is
+ * not stored in the table, and it is not considered in displacement statistics.
+ */
+
+public class HashStatistics implements java.io.Serializable {
+	private static final long serialVersionUID = 0L;
+
+	/** The number of bytes assumed for a reference, as with compressed ordinary object pointers. */
+	public static final int REFERENCE_BYTES = 4;
+
+	private final long size;
+	private final long capacity;
+	private final float f;
+	private final long[] displacementHistogram;
+	private final long maxDisplacement;
+	private final double averageDisplacement;
+	private final double averageUnsuccessfulProbes;
+	private final long rehashes;
+	private final long allocatedBytes;
+	private final long tableBytes;
+
+	/** Creates new statistics.
+	 *
+	 * @param size the number of elements in the table, including the null key.
+	 * @param capacity the number of positions of the table.
+	 * @param f the load factor of the table.
+	 * @param displacementHistogram a histogram of displacements, whose element of index <var>d</var> is the number
+	 * of keys with displacement <var>d</var>; it may contain trailing zeroes.
+	 * @param unsuccessfulProbes the sum, over all positions of the table, of the number of positions examined by an unsuccessful
+	 * lookup starting at the position (see {@link #runProbes(long)}).
+	 * @param rehashes the number of times the table has been rehashed.
+	 * @param allocatedBytes the number of bytes allocated by rehashes.
+	 * @param tableBytes the number of bytes used by the table.
+	 */
+	public HashStatistics(final long size, final long capacity, final float f, final long[] displacementHistogram, final long unsuccessfulProbes, final long rehashes, final long allocatedBytes, final long tableBytes) {
+		int length = displacementHistogram.length;
+		while(length != 0 && displacementHistogram[length - 1] == 0) length--;
+		this.displacementHistogram = java.util.Arrays.copyOf(displacementHistogram, length);
+
+		long keys = 0, sum = 0;
+		for(int d = length; d-- != 0;) {
+			keys += displacementHistogram[d];
+			sum += d * displacementHistogram[d];
+		}
+
+		this.size = size;
+		this.capacity = capacity;
+		this.f = f;
+		this.maxDisplacement = Math.max(0, length - 1);
+		this.averageDisplacement = keys == 0 ? 0 : (double)sum / keys;
+		this.averageUnsuccessfulProbes = capacity == 0 ? 0 : (double)unsuccessfulProbes / capacity;
+		this.rehashes = rehashes;
+		this.allocatedBytes = allocatedBytes;
+		this.tableBytes = tableBytes;
+	}
+
+	/** Adds a key with given displacement to a histogram, enlarging it if necessary.
+	 *
+	 * @param histogram a histogram of displacements.
+	 * @param displacement the displacement of a key, which must be smaller than {@link Arrays#MAX_ARRAY_SIZE}.
+	 * @return {@code histogram}, or an enlarged copy of it, with the count of {@code displacement} incremented.
+	 */
+	public static long[] count(long[] histogram, final long displacement) {
+		if (displacement >= histogram.length) {
+			if (displacement >= Arrays.MAX_ARRAY_SIZE) throw new IllegalArgumentException("Displacement too large: " + displacement);
+			histogram = java.util.Arrays.copyOf(histogram, (int)Math.min(Arrays.MAX_ARRAY_SIZE, Math.max(displacement + 1, 2L * histogram.length)));
+		}
+		histogram[(int)displacement]++;
+		return histogram;
+	}
+
+	/** Returns the sum, over the positions of a maximal run of used positions followed by an unused position,
+	 * of the number of positions examined by an unsuccessful lookup starting there.
+	 *
+	 * @param length the length of a run of used positions.
+	 * @return the number of positions examined by unsuccessful lookups starting in the run or at the unused position following it.
+	 */
+	public static long runProbes(final long length) {
+		return length * (length + 1) / 2 + length + 1;
+	}
+
+	/** Returns the number of elements in the table, including the null key.
+	 * @return the number of elements in the table. */
+	public long size() {
+		return size;
+	}
+
+	/** Returns the number of positions of the table.
+	 * @return the number of positions of the table. */
+	public long capacity() {
+		return capacity;
+	}
+
+	/** Returns the load factor of the table.
+	 * @return the load factor of the table. */
+	public float loadFactor() {
+		return f;
+	}
+
+	/** Returns the actual load of the table, that is, the ratio between the number of used positions and the number of positions.
+	 * @return the actual load of the table. */
+	public double load() {
+		long keys = 0;
+		for(final long c : displacementHistogram) keys += c;
+		return capacity == 0 ? 0 : (double)keys / capacity;
+	}
+
+	/** Returns a histogram of displacements.
+	 * @return an array whose element of index <var>d</var> is the number of keys with displacement <var>d</var>; its last element, if any, is nonzero. */
+	public long[] displacementHistogram() {
+		return displacementHistogram.clone();
+	}
+
+	/** Returns the maximum displacement.
+	 * @return the maximum displacement, or 0 if the table is empty. */
+	public long maxDisplacement() {
+		return maxDisplacement;
+	}
+
+	/** Returns the average displacement.
+	 * @return the average displacement, or 0 if the table is empty. */
+	public double averageDisplacement() {
+		return averageDisplacement;
+	}
+
+	/** Returns the average number of positions examined by a successful lookup.
+	 * @return the average number of positions examined by a successful lookup. */
+	public double averageProbes() {
+		return averageDisplacement + 1;
+	}
+
+	/** Returns the average number of positions examined by an unsuccessful lookup.
+	 * @return the average number of positions examined by an unsuccessful lookup. */
+	public double averageUnsuccessfulProbes() {
+		return averageUnsuccessfulProbes;
+	}
+
+	/** Returns the number of times the table has been rehashed since it was created, cloned or deserialized.
+	 * @return the number of rehashes. */
+	public long rehashes() {
+		return rehashes;
+	}
+
+	/** Returns the number of bytes allocated by rehashes since the table was created, cloned or deserialized.
+	 * @return the number of bytes allocated by rehashes. */
+	public long allocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/** Returns the number of bytes currently used by the table.
+	 * @return the number of bytes currently used by the table. */
+	public long tableBytes() {
+		return tableBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "[size: " + size + ", capacity: " + capacity + ", load factor: " + f + ", load: " + load() + ", average displacement: " + averageDisplacement + ", max displacement: " + maxDisplacement + ", average unsuccessful probes: " + averageUnsuccessfulProbes + ", rehashes: " + rehashes + ", allocated bytes: " + allocatedBytes + ", table bytes: " + tableBytes + "]";
+	}
+}
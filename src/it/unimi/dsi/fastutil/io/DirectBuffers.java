@@ -0,0 +1,92 @@
+package it.unimi.dsi.fastutil.io;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/** Static methods for allocating and releasing direct (and memory-mapped) byte buffers.
+ *
+ * <p>The memory of a direct buffer is normally released only when the buffer is garbage collected,
+ * which may happen much later than the last use. {@link #free(ByteBuffer)} releases it immediately,
+ * using the cleaning facilities of the running JVM if they are available.
+ */
+
+public final class DirectBuffers {
+	private DirectBuffers() {}
+
+	/** The {@code sun.misc.Unsafe} instance, if {@link #INVOKE_CLEANER} is not {@code null}. */
+	private static final Object UNSAFE;
+	/** {@code sun.misc.Unsafe.invokeCleaner(ByteBuffer)}, available starting from Java 9, or {@code null}. */
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+		}
+		catch(final Exception | LinkageError e) {
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	/** Allocates a zeroed direct byte buffer in native byte order.
+	 *
+	 * @param capacity the capacity of the buffer, in bytes.
+	 * @return a new direct byte buffer in native byte order.
+	 */
+	public static ByteBuffer allocate(final int capacity) {
+		return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+	}
+
+	/** Releases the memory of a direct or memory-mapped buffer immediately.
+	 *
+	 * <p>The buffer, and every view of it, must not be accessed after this call: doing so
+	 * can crash the JVM. Buffers that are not direct, and buffers that are duplicates or slices, are left alone.
+	 *
+	 * @param buffer a buffer.
+	 * @return true if the memory was released; false if it will be released when the buffer is garbage collected.
+	 */
+	public static boolean free(final ByteBuffer buffer) {
+		if (buffer == null || ! buffer.isDirect()) return false;
+		try {
+			if (INVOKE_CLEANER != null) {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+				return true;
+			}
+			// Java 8: DirectByteBuffer.cleaner().clean()
+			final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			final Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner == null) return false;
+			cleaner.getClass().getMethod("clean").invoke(cleaner);
+			return true;
+		}
+		catch(final Exception | LinkageError e) {
+			return false;
+		}
+	}
+}
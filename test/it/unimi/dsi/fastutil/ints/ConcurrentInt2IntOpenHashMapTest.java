@@ -0,0 +1,186 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ConcurrentInt2IntOpenHashMapTest {
+
+	private static void runThreads(final int threads, final Runnable r) throws InterruptedException {
+		final Thread[] thread = new Thread[threads];
+		for (int i = 0; i < threads; i++) (thread[i] = new Thread(r)).start();
+		for (final Thread t : thread) t.join();
+	}
+
+	@Test
+	public void testZeroKey() {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap();
+		m.defaultReturnValue(-1);
+		assertFalse(m.containsKey(0));
+		assertEquals(-1, m.put(0, 0));
+		assertTrue(m.containsKey(0));
+		assertEquals(0, m.get(0));
+		assertEquals(0, m.addTo(0, 5));
+		assertEquals(1, m.size());
+		assertEquals(5, m.remove(0));
+		assertFalse(m.containsKey(0));
+		assertEquals(0, m.size());
+	}
+
+	@Test
+	public void testRemoveAndReinsert() {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		for (int i = 0; i < 1000; i++) m.put(i, i);
+		for (int i = 0; i < 1000; i += 2) assertEquals(i, m.remove(i));
+		assertEquals(500, m.size());
+		for (int i = 0; i < 1000; i++) assertEquals(i % 2 == 0 ? 0 : i, m.get(i));
+		for (int i = 0; i < 1000; i += 2) assertEquals(0, m.putIfAbsent(i, -i));
+		for (int i = 0; i < 1000; i++) assertEquals(i % 2 == 0 ? -i : i, m.get(i));
+		assertEquals(1000, m.size());
+		assertEquals(new Int2IntOpenHashMap(m), m);
+	}
+
+	@Test
+	public void testManyRemovalsDoNotGrow() {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(16);
+		for (int i = 0; i < 100000; i++) {
+			m.put(i, i);
+			assertEquals(i, m.remove(i));
+		}
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testClear() {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap();
+		for (int i = 0; i < 1000; i++) m.put(i, i);
+		m.clear();
+		assertTrue(m.isEmpty());
+		for (int i = 0; i < 1000; i++) assertFalse(m.containsKey(i));
+		m.put(1, 1);
+		assertEquals(1, m.size());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap();
+		for (int i = -100; i < 100; i++) m.put(i, i * i);
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(m);
+		oos.close();
+		final ConcurrentInt2IntOpenHashMap n = (ConcurrentInt2IntOpenHashMap)new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+		assertEquals(m, n);
+		n.addTo(0, 1);
+		assertEquals(1, n.get(0));
+	}
+
+	@Test
+	public void testConcurrentAddToWithResize() throws InterruptedException {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		final int n = 50000, threads = 8;
+		runThreads(threads, () -> {
+			for (int i = 0; i < n; i++) m.addTo(i, 1);
+		});
+		assertEquals(n, m.size());
+		for (int i = 0; i < n; i++) assertEquals(threads, m.get(i));
+	}
+
+	@Test
+	public void testConcurrentPutIfAbsent() throws InterruptedException {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		m.defaultReturnValue(-1);
+		final int n = 20000, threads = 8;
+		final AtomicInteger winners = new AtomicInteger();
+		final AtomicInteger id = new AtomicInteger();
+		runThreads(threads, () -> {
+			final int me = id.getAndIncrement();
+			for (int i = 0; i < n; i++) if (m.putIfAbsent(i, me) == -1) winners.incrementAndGet();
+		});
+		assertEquals(n, winners.get());
+		assertEquals(n, m.size());
+	}
+
+	@Test
+	public void testConcurrentReplaceAndRemove() throws InterruptedException {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		final int n = 10000, threads = 4;
+		for (int i = 0; i < n; i++) m.put(i, 0);
+		final AtomicInteger increments = new AtomicInteger();
+		runThreads(threads, () -> {
+			for (int i = 0; i < n; i++) {
+				for (;;) {
+					final int v = m.get(i);
+					if (m.replace(i, v, v + 1)) break;
+				}
+				increments.incrementAndGet();
+			}
+		});
+		for (int i = 0; i < n; i++) assertEquals(threads, m.get(i));
+		runThreads(threads, () -> {
+			for (int i = 0; i < n; i++) m.remove(i, threads);
+		});
+		assertTrue(m.isEmpty());
+		assertEquals(n * threads, increments.get());
+	}
+
+	@Test
+	public void testIterationDuringUpdates() throws InterruptedException {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		final int n = 10000;
+		for (int i = 0; i < n; i++) m.put(i, i);
+		final Thread writer = new Thread(() -> {
+			for (int i = n; i < 20 * n; i++) m.put(i, i);
+		});
+		writer.start();
+		// Entries present before the iteration began must all be returned, exactly once.
+		final IntOpenHashSet seen = new IntOpenHashSet();
+		for (final Int2IntMap.Entry e : m.int2IntEntrySet()) {
+			assertEquals(e.getIntKey(), e.getIntValue());
+			assertTrue(seen.add(e.getIntKey()));
+		}
+		writer.join();
+		for (int i = 0; i < n; i++) assertTrue(seen.contains(i));
+		assertEquals(20 * n, m.size());
+	}
+
+	@Test
+	public void testForEachPrimitive() {
+		final ConcurrentInt2IntOpenHashMap m = new ConcurrentInt2IntOpenHashMap(0);
+		for(int i = 0; i < 10000; i++) m.put(i, -i);
+		for(int i = 0; i < 10000; i += 3) m.remove(i);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		m.forEachPrimitive((k, v) -> {
+			assertFalse(t.containsKey(k));
+			t.put(k, v);
+		});
+		assertEquals(m, t);
+		assertFalse(t.containsKey(0));
+		assertEquals(-1, t.get(1));
+	}
+}
@@ -0,0 +1,111 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class ConcurrentInt2LongCountingMapTest {
+
+	private static void runThreads(final int threads, final Runnable r) throws InterruptedException {
+		final Thread[] thread = new Thread[threads];
+		for (int i = 0; i < threads; i++) (thread[i] = new Thread(r)).start();
+		for (final Thread t : thread) t.join();
+	}
+
+	@Test
+	public void testSingleThread() {
+		final ConcurrentInt2LongCountingMap m = new ConcurrentInt2LongCountingMap();
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.get(0));
+		assertFalse(m.containsKey(0));
+		m.addTo(0, 1);
+		m.addTo(0, 2);
+		m.addTo(1, 5);
+		assertEquals(3, m.get(0));
+		assertTrue(m.containsKey(1));
+		assertEquals(2, m.size());
+		assertEquals(8, m.sum());
+		assertEquals(3, m.put(0, 10));
+		assertEquals(-1, m.put(2, 7));
+		assertEquals(10, m.get(0));
+		assertEquals(5, m.remove(1));
+		assertEquals(-1, m.remove(1));
+		assertEquals(-1, m.snapshot().get(1));
+		m.clear();
+		assertEquals(0, m.size());
+	}
+
+	@Test
+	public void testConcurrentIncrements() throws InterruptedException {
+		final ConcurrentInt2LongCountingMap m = new ConcurrentInt2LongCountingMap(8);
+		final int threads = 8, increments = 100000;
+		runThreads(threads, () -> {
+			for (int i = 0; i < increments; i++) {
+				m.addTo(0, 1);
+				m.addTo(i % 100, 2);
+			}
+		});
+		final Int2LongOpenHashMap snapshot = m.snapshot();
+		assertEquals(100, snapshot.size());
+		assertEquals(100, m.size());
+		assertEquals(threads * increments + threads * increments / 50, snapshot.get(0));
+		for (int k = 1; k < 100; k++) assertEquals(threads * increments / 50, m.get(k));
+		assertEquals(3L * threads * increments, m.sum());
+		m.compact();
+		assertEquals(snapshot, m.snapshot());
+		assertTrue(m.cells() <= 8);
+	}
+
+	@Test
+	public void testConcurrentPutAndRemove() throws InterruptedException {
+		final ConcurrentInt2LongCountingMap m = new ConcurrentInt2LongCountingMap(4);
+		runThreads(4, () -> {
+			for (int i = 0; i < 10000; i++) {
+				m.addTo(i % 10, 1);
+				if (i % 1000 == 0) m.remove(10);
+				m.addTo(10, 1);
+			}
+		});
+		assertEquals(4000, m.get(0));
+		assertTrue(m.get(10) > 0);
+		assertTrue(m.get(10) <= 40000);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final ConcurrentInt2LongCountingMap m = new ConcurrentInt2LongCountingMap();
+		for (int i = -100; i < 100; i++) m.addTo(i, i * i);
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(m);
+		oos.close();
+		final ConcurrentInt2LongCountingMap n = (ConcurrentInt2LongCountingMap)new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+		assertEquals(m.snapshot(), n.snapshot());
+		n.addTo(0, 1);
+		assertEquals(1, n.get(0));
+	}
+}
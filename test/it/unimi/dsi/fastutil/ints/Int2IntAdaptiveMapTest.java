@@ -0,0 +1,83 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Int2IntAdaptiveMapTest {
+
+	@Test
+	public void testSwitch() {
+		final Int2IntAdaptiveMap m = new Int2IntAdaptiveMap(4);
+		m.defaultReturnValue(-1);
+		final IntSet keys = m.keySet();
+		for (int i = 0; i < 4; i++) assertEquals(-1, m.put(i, i));
+		assertFalse(m.isHashed());
+		// Updating an existing key does not switch.
+		assertEquals(0, m.put(0, 10));
+		assertFalse(m.isHashed());
+		assertEquals(-1, m.put(4, 4));
+		assertTrue(m.isHashed());
+		assertEquals(5, m.size());
+		assertEquals(10, m.get(0));
+		assertEquals(-1, m.get(5));
+		// Views created before the switch follow the current representation.
+		assertEquals(5, keys.size());
+		assertTrue(keys.contains(4));
+		assertTrue(keys.remove(4));
+		assertEquals(-1, m.get(4));
+		m.clear();
+		assertTrue(m.isEmpty());
+		assertTrue(m.isHashed());
+	}
+
+	@Test
+	public void testRandom() {
+		final Random r = new Random(0);
+		final Int2IntAdaptiveMap m = new Int2IntAdaptiveMap();
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		for (int i = 0; i < 10000; i++) {
+			final int k = r.nextInt(i / 100 + 1);
+			if (r.nextInt(4) == 0) assertEquals(t.remove(k), m.remove(k));
+			else {
+				final int v = r.nextInt();
+				assertEquals(t.put(k, v), m.put(k, v));
+			}
+			assertEquals(t.size(), m.size());
+		}
+		assertTrue(m.isHashed());
+		assertEquals(t, m);
+		assertEquals(m, m.clone());
+	}
+
+	@Test
+	public void testCopy() {
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		for (int i = 0; i < 3; i++) t.put(i, i);
+		assertFalse(new Int2IntAdaptiveMap(t).isHashed());
+		for (int i = 0; i < 100; i++) t.put(i, i);
+		final Int2IntAdaptiveMap m = new Int2IntAdaptiveMap(t);
+		assertTrue(m.isHashed());
+		assertEquals(t, m);
+	}
+}
@@ -0,0 +1,147 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.io.BinIO;
+import it.unimi.dsi.fastutil.objects.Object2ObjectCompactOrderedHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Int2IntCompactOrderedHashMapTest {
+
+	private static void assertSameOrder(final Map<Integer, Integer> t, final Int2IntCompactOrderedHashMap m) {
+		assertEquals(t.size(), m.size());
+		final IntIterator k = m.keySet().iterator();
+		final IntIterator v = m.values().iterator();
+		final ObjectIterator<Int2IntMap.Entry> e = m.int2IntEntrySet().fastIterator();
+		for (final Map.Entry<Integer, Integer> entry : t.entrySet()) {
+			assertEquals(entry.getKey().intValue(), k.nextInt());
+			assertEquals(entry.getValue().intValue(), v.nextInt());
+			final Int2IntMap.Entry f = e.next();
+			assertEquals(entry.getKey().intValue(), f.getIntKey());
+			assertEquals(entry.getValue().intValue(), f.getIntValue());
+		}
+		assertTrue(! k.hasNext() && ! v.hasNext() && ! e.hasNext());
+	}
+
+	@Test
+	public void testRandom() {
+		final Random r = new Random(0);
+		for (final int n : new int[] { 10, 1000, 100000 }) {
+			final Int2IntCompactOrderedHashMap m = new Int2IntCompactOrderedHashMap(0);
+			final LinkedHashMap<Integer, Integer> t = new LinkedHashMap<>();
+			for (int i = 0; i < 4 * n; i++) {
+				final int k = r.nextInt(n);
+				// Removals are frequent, so that compaction takes place.
+				if (r.nextInt(3) == 0) {
+					final Integer v = t.remove(Integer.valueOf(k));
+					assertEquals(v == null ? 0 : v.intValue(), m.remove(k));
+				}
+				else {
+					final int v = r.nextInt();
+					final Integer old = t.put(Integer.valueOf(k), Integer.valueOf(v));
+					assertEquals(old == null ? 0 : old.intValue(), m.put(k, v));
+				}
+				if (i % n == 0) assertSameOrder(t, m);
+			}
+			assertSameOrder(t, m);
+			assertEquals(t, m);
+			assertEquals(t.hashCode(), m.hashCode());
+			for (int k = -1; k <= n; k++) assertEquals(t.containsKey(Integer.valueOf(k)), m.containsKey(k));
+
+			m.trim();
+			assertSameOrder(t, m);
+			final Int2IntCompactOrderedHashMap c = m.clone();
+			assertSameOrder(t, c);
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Int2IntCompactOrderedHashMap m = new Int2IntCompactOrderedHashMap();
+		final LinkedHashMap<Integer, Integer> t = new LinkedHashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			m.put(i * 7, i);
+			t.put(Integer.valueOf(i * 7), Integer.valueOf(i));
+		}
+		// Removing most entries while iterating must not compact under the iterator.
+		for (final IntIterator i = m.keySet().iterator(); i.hasNext();) if (i.nextInt() % 3 != 0) i.remove();
+		t.keySet().removeIf(k -> k.intValue() % 3 != 0);
+		assertSameOrder(t, m);
+		for (int i = 0; i < 100; i++) {
+			m.put(-i - 1, i);
+			t.put(Integer.valueOf(-i - 1), Integer.valueOf(i));
+		}
+		assertSameOrder(t, m);
+		m.clear();
+		assertTrue(m.isEmpty());
+		m.put(1, 1);
+		assertEquals(1, m.get(1));
+	}
+
+	@Test
+	public void testReinsertionMovesToEnd() {
+		final Int2IntCompactOrderedHashMap m = new Int2IntCompactOrderedHashMap();
+		m.put(1, 1);
+		m.put(2, 2);
+		m.put(3, 3);
+		m.put(1, 10);
+		assertArrayEquals(new int[] { 1, 2, 3 }, m.keySet().toIntArray());
+		m.remove(1);
+		m.put(1, 1);
+		assertArrayEquals(new int[] { 2, 3, 1 }, m.keySet().toIntArray());
+	}
+
+	@Test
+	public void testObjectKeys() {
+		final Object2ObjectCompactOrderedHashMap<String, String> m = new Object2ObjectCompactOrderedHashMap<>();
+		m.put("a", "A");
+		m.put(null, "null");
+		m.put("b", null);
+		assertEquals("null", m.get(null));
+		assertTrue(m.containsKey("b"));
+		assertTrue(m.containsValue(null));
+		assertEquals("null", m.remove(null));
+		assertEquals(2, m.size());
+		m.put(null, "again");
+		assertEquals("{a, b, null}", m.keySet().toString());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntCompactOrderedHashMap m = new Int2IntCompactOrderedHashMap();
+		for (int i = 0; i < 100; i++) m.put(100 - i, i);
+		for (int i = 0; i < 100; i += 2) m.remove(100 - i);
+		final java.io.File file = java.io.File.createTempFile(getClass().getSimpleName() + "-", "-tmp");
+		file.deleteOnExit();
+		BinIO.storeObject(m, file);
+		final Int2IntCompactOrderedHashMap n = (Int2IntCompactOrderedHashMap)BinIO.loadObject(file);
+		assertEquals(m, n);
+		assertArrayEquals(m.keySet().toIntArray(), n.keySet().toIntArray());
+		file.delete();
+	}
+}
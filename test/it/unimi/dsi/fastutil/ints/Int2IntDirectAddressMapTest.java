@@ -0,0 +1,127 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Int2IntDirectAddressMapTest {
+
+	@Test
+	public void testRange() {
+		final Int2IntDirectAddressMap m = new Int2IntDirectAddressMap(100);
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.put(0, 0));
+		assertEquals(-1, m.put(99, 99));
+		assertEquals(-1, m.get(-1));
+		assertEquals(-1, m.get(100));
+		assertFalse(m.containsKey(100));
+		assertEquals(-1, m.remove(-1));
+		assertEquals(2, m.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPutOutOfRange() {
+		new Int2IntDirectAddressMap(100).put(100, 0);
+	}
+
+	@Test
+	public void testDefaultReturnValue() {
+		final Int2IntDirectAddressMap m = new Int2IntDirectAddressMap(10);
+		m.put(1, 0);
+		m.put(2, 2);
+		m.defaultReturnValue(-1);
+		assertEquals(0, m.get(1));
+		assertEquals(-1, m.get(3));
+		assertEquals(2, m.remove(2));
+		assertEquals(-1, m.get(2));
+		m.clear();
+		assertEquals(-1, m.get(1));
+	}
+
+	@Test
+	public void testIterator() {
+		final Int2IntDirectAddressMap m = new Int2IntDirectAddressMap(1000);
+		final int[] k = { 999, 0, 63, 64, 500, 128 };
+		for (final int x : k) m.put(x, x + 1);
+		final IntIterator i = m.keySet().iterator();
+		assertEquals(0, i.nextInt());
+		assertEquals(63, i.nextInt());
+		assertEquals(64, i.nextInt());
+		i.remove();
+		assertEquals(128, i.nextInt());
+		assertEquals(500, i.nextInt());
+		assertEquals(999, i.nextInt());
+		assertFalse(i.hasNext());
+		assertFalse(m.containsKey(64));
+		assertEquals(5, m.size());
+
+		for (final ObjectIterator<Int2IntMap.Entry> j = m.int2IntEntrySet().fastIterator(); j.hasNext();) {
+			final Int2IntMap.Entry e = j.next();
+			e.setValue(e.getIntKey() * 2);
+		}
+		assertEquals(1998, m.get(999));
+	}
+
+	@Test
+	public void testRandom() {
+		final Random r = new Random(0);
+		final Int2IntDirectAddressMap m = new Int2IntDirectAddressMap(1000);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		for (int i = 0; i < 10000; i++) {
+			final int k = r.nextInt(1000);
+			if (r.nextInt(4) == 0) assertEquals(t.remove(k), m.remove(k));
+			else {
+				final int v = r.nextInt();
+				assertEquals(t.put(k, v), m.put(k, v));
+			}
+			assertEquals(t.size(), m.size());
+		}
+		assertEquals(t, m);
+		assertEquals(m, t);
+		assertEquals(t.keySet(), m.keySet());
+		assertEquals(m, m.clone());
+		for (final int v : t.values()) assertTrue(m.containsValue(v));
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntDirectAddressMap m = new Int2IntDirectAddressMap(200);
+		m.defaultReturnValue(-1);
+		for (int i = 0; i < 200; i += 3) m.put(i, i);
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(m);
+		oos.close();
+		final Int2IntDirectAddressMap n = (Int2IntDirectAddressMap)new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertEquals(-1, n.get(1));
+		assertEquals(-1, n.put(199, 0));
+	}
+}
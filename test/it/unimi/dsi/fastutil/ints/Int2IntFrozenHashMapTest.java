@@ -0,0 +1,125 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.io.BinIO;
+
+public class Int2IntFrozenHashMapTest {
+
+	private static void test(final int n, final float f) {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		final Random r = new Random(n);
+		for(int i = 0; i < n; i++) m.put(r.nextInt(2 * n) - n, r.nextInt());
+		m.defaultReturnValue(-1);
+		final Int2IntFrozenHashMap frozen = m.freeze(f);
+
+		assertEquals(m.size(), frozen.size());
+		assertEquals(-1, frozen.defaultReturnValue());
+		for(int k = -2 * n; k < 2 * n; k++) {
+			assertEquals(Integer.toString(k), m.containsKey(k), frozen.containsKey(k));
+			assertEquals(Integer.toString(k), m.get(k), frozen.get(k));
+		}
+		assertEquals(m, frozen);
+		assertEquals(frozen, m);
+		assertEquals(m.hashCode(), frozen.hashCode());
+		assertEquals(m.keySet(), frozen.keySet());
+		assertEquals(new IntOpenHashSet(m.values()), new IntOpenHashSet(frozen.values()));
+	}
+
+	@Test
+	public void testSmall() {
+		for(int n = 0; n < 100; n++) test(n, Int2IntFrozenHashMap.DEFAULT_LOAD_FACTOR);
+	}
+
+	@Test
+	public void testLarge() {
+		test(100000, Int2IntFrozenHashMap.DEFAULT_LOAD_FACTOR);
+		test(100000, .5f);
+		test(100000, 1);
+	}
+
+	@Test
+	public void testZeroKey() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.put(0, 42);
+		m.put(1, 43);
+		final Int2IntFrozenHashMap frozen = m.freeze();
+		assertTrue(frozen.containsKey(0));
+		assertEquals(42, frozen.get(0));
+		assertTrue(frozen.containsValue(42));
+		assertTrue(frozen.int2IntEntrySet().contains(new AbstractInt2IntMap.BasicEntry(0, 42)));
+		assertEquals(m, frozen);
+	}
+
+	@Test
+	public void testCompact() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		for(int i = 0; i < 1 << 16; i++) m.put(i * 7, i);
+		// The open table for 2^16 keys has 2^17 entries, whereas the frozen one has 2^16 / .6 entries, plus a few overflow ones.
+		assertTrue(m.freeze().key.length < (1 << 16) / .6 + 64);
+		assertTrue(m.freeze(1).key.length < (1 << 16) + 64);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(new int[] { 1, 2 }, new int[] { 3, 4 });
+		m.freeze().put(3, 5);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutableDefaultReturnValue() {
+		new Int2IntOpenHashMap().freeze().defaultReturnValue(1);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		for(int i = -1000; i < 1000; i++) m.put(i * 31, i);
+		final Int2IntFrozenHashMap frozen = m.freeze();
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		BinIO.storeObject(frozen, file);
+		final Int2IntFrozenHashMap t = (Int2IntFrozenHashMap)BinIO.loadObject(file);
+		assertEquals(m, t);
+		assertFalse(t.containsKey(1));
+	}
+
+	@Test
+	public void testForEachPrimitive() {
+		final Random r = new Random(0);
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(r.nextInt(), r.nextInt());
+		m.put(0, 42);
+		final Int2IntFrozenHashMap frozen = m.freeze();
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		frozen.forEachPrimitive((k, v) -> {
+			assertFalse(t.containsKey(k));
+			t.put(k, v);
+		});
+		assertEquals(m, t);
+	}
+}
@@ -0,0 +1,142 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLRUCache;
+
+public class Int2IntLRUCacheTest {
+
+	@Test
+	public void testEviction() {
+		final IntArrayList evictedKeys = new IntArrayList();
+		final IntArrayList evictedValues = new IntArrayList();
+		final Int2IntLRUCache c = new Int2IntLRUCache(3, (k, v) -> { evictedKeys.add(k); evictedValues.add(v); });
+		c.defaultReturnValue(-1);
+		c.put(0, 10);
+		c.put(1, 11);
+		c.put(2, 12);
+		assertEquals(10, c.get(0)); // 0 becomes the most recently used key
+		c.put(3, 13); // evicts 1
+		assertEquals(IntArrayList.wrap(new int[] { 1 }), evictedKeys);
+		assertEquals(IntArrayList.wrap(new int[] { 11 }), evictedValues);
+		assertEquals(-1, c.get(1));
+		assertEquals(12, c.put(2, 22)); // 2 becomes the most recently used key
+		c.put(4, 14); // evicts 0
+		c.put(5, 15); // evicts 3
+		assertEquals(IntArrayList.wrap(new int[] { 1, 0, 3 }), evictedKeys);
+		assertEquals(IntArrayList.wrap(new int[] { 11, 10, 13 }), evictedValues);
+		assertEquals(3, c.size());
+		assertEquals(2, c.firstIntKey());
+		assertEquals(5, c.lastIntKey());
+
+		assertEquals(1, c.hits());
+		assertEquals(1, c.misses());
+		assertEquals(3, c.evictions());
+		assertEquals(.5, c.hitRate(), 0);
+
+		// Explicit removals are not evictions.
+		assertEquals(22, c.remove(2));
+		assertEquals(3, c.evictions());
+		assertEquals(3, evictedKeys.size());
+		assertEquals(2, c.size());
+	}
+
+	@Test
+	public void testPeekDoesNotAffectRecency() {
+		final Int2IntLRUCache c = new Int2IntLRUCache(2);
+		c.put(0, 10);
+		c.put(1, 11);
+		assertEquals(10, c.peek(0));
+		assertTrue(c.containsKey(0));
+		c.put(2, 12);
+		assertFalse(c.containsKey(0));
+		assertEquals(0, c.hits() + c.misses());
+	}
+
+	@Test
+	public void testZeroKeyAndDefaultValue() {
+		final Int2IntLRUCache c = new Int2IntLRUCache(2);
+		// A hit on a value equal to the default return value is still a hit.
+		c.put(0, 0);
+		assertEquals(0, c.get(0));
+		assertEquals(1, c.hits());
+		assertEquals(0, c.get(1));
+		assertEquals(1, c.misses());
+		c.put(1, 1);
+		c.get(0);
+		c.put(2, 2);
+		assertTrue(c.containsKey(0));
+		assertFalse(c.containsKey(1));
+	}
+
+	@Test
+	public void testRandom() {
+		final int capacity = 100;
+		final Int2IntLRUCache c = new Int2IntLRUCache(capacity);
+		// A reference implementation based on access-ordered java.util.LinkedHashMap.
+		final java.util.LinkedHashMap<Integer, Integer> t = new java.util.LinkedHashMap<Integer, Integer>(16, .75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final java.util.Map.Entry<Integer, Integer> eldest) {
+				return size() > capacity;
+			}
+		};
+		final Random r = new Random(0);
+		long hits = 0;
+		for (int i = 0; i < 100000; i++) {
+			final int k = r.nextInt(300);
+			if (r.nextBoolean()) {
+				final Integer v = t.get(Integer.valueOf(k));
+				if (v != null) hits++;
+				assertEquals(v == null ? 0 : v.intValue(), c.get(k));
+			}
+			else {
+				final int v = r.nextInt();
+				t.put(Integer.valueOf(k), Integer.valueOf(v));
+				c.put(k, v);
+			}
+			assertEquals(t.size(), c.size());
+		}
+		assertEquals(hits, c.hits());
+		for (final int k : t.keySet()) assertTrue(c.containsKey(k));
+	}
+
+	@Test
+	public void testLong2Object() {
+		final Long2ObjectLRUCache<String> c = new Long2ObjectLRUCache<>(2);
+		c.put(1L << 40, "a");
+		c.put(2L << 40, "b");
+		assertEquals("a", c.get(1L << 40));
+		c.put(3L << 40, "c");
+		assertEquals(null, c.get(2L << 40));
+		assertEquals("a", c.get(1L << 40));
+		assertEquals(1, c.evictions());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new Int2IntLRUCache(0);
+	}
+}
@@ -0,0 +1,49 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+public class Int2IntMapGenericAdaptiveTest extends Int2IntMapGenericTest<Int2IntAdaptiveMap> {
+	@Parameter(2)
+	public int threshold;
+
+	@SuppressWarnings({ "AutoBoxing", "boxing" })
+	@Parameters(name = "{index}: threshold {2}")
+	public static Iterable<Object[]> data() {
+		final EnumSet<Capability> capabilities = EnumSet.allOf(Capability.class);
+		// As in array maps, entries of small maps cannot be modified.
+		final EnumSet<Capability> smallCapabilities = EnumSet.copyOf(capabilities);
+		smallCapabilities.remove(Capability.ITERATOR_MODIFY);
+		final Collection<Object[]> data = new ArrayList<>();
+		for (final int threshold : new int[] { 0, 1, Int2IntAdaptiveMap.DEFAULT_THRESHOLD }) {
+			data.add(new Object[] {supplier(threshold), capabilities, threshold});
+		}
+		data.add(new Object[] {supplier(1000), smallCapabilities, 1000});
+		return data;
+	}
+
+	private static Supplier<Int2IntMap> supplier(final int threshold) {
+		return () -> new Int2IntAdaptiveMap(threshold);
+	}
+}
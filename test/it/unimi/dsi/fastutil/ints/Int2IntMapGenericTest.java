@@ -790,6 +790,52 @@ public abstract class Int2IntMapGenericTest<M extends Int2IntMap> {
 	}
 
 
+	@Test
+	public void testMergeOperator() {
+		m.defaultReturnValue(-1);
+		assertEquals(5, m.mergeInt(0, 5, Integer::sum));
+		assertEquals(5, m.get(0));
+		assertEquals(12, m.mergeInt(0, 7, Integer::sum));
+		assertEquals(12, m.get(0));
+		assertEquals(3, m.mergeInt(0, 3, Math::min));
+		assertEquals(3, m.get(0));
+		assertEquals(-1, m.mergeInt(1, -1, Integer::sum));
+		assertEquals(-2, m.mergeInt(1, -1, Integer::sum));
+		assertEquals(2, m.size());
+	}
+
+	@Test
+	public void testComputeOperator() {
+		m.defaultReturnValue(10);
+		assertEquals(10, m.computeIntIfPresent(0, x -> x + 1));
+		assertFalse(m.containsKey(0));
+		assertEquals(11, m.computeInt(0, x -> x + 1));
+		assertEquals(11, m.get(0));
+		assertEquals(12, m.computeInt(0, x -> x + 1));
+		assertEquals(24, m.computeIntIfPresent(0, x -> x * 2));
+		assertEquals(24, m.get(0));
+		assertEquals(1, m.size());
+	}
+
+	@Test
+	public void testForEachConsumer() {
+		for(int i = 0; i < 100; i++) m.put(i * 3, i);
+		final int[] keys = new int[m.size()], values = new int[m.size()];
+		final int[] count = new int[1];
+		m.forEachPrimitive((k, v) -> { keys[count[0]] = k; values[count[0]++] = v; });
+		assertEquals(m.size(), count[0]);
+		int i = 0;
+		for (final Entry e : m.int2IntEntrySet()) {
+			assertEquals(e.getIntKey(), keys[i]);
+			assertEquals(e.getIntValue(), values[i++]);
+		}
+
+		// Implicitly typed lambdas passed to forEach() still receive boxed keys and values.
+		final Map<Integer, Integer> boxed = new HashMap<>();
+		m.forEach((k, v) -> boxed.put(Integer.valueOf(k.intValue()), v));
+		assertEquals(m, boxed);
+	}
+
 	@Test
 	public void testMergeObject() {
 		m.defaultReturnValue(-1);
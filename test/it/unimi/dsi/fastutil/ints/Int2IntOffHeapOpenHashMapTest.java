@@ -0,0 +1,170 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Int2IntOffHeapOpenHashMapTest {
+
+	@Test
+	public void testZeroKey() {
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap()) {
+			m.defaultReturnValue(-1);
+			assertFalse(m.containsKey(0));
+			assertEquals(-1, m.put(0, 0));
+			assertTrue(m.containsKey(0));
+			assertEquals(0, m.get(0));
+			assertEquals(0, m.addTo(0, 5));
+			assertEquals(1, m.size());
+			assertEquals(5, m.remove(0));
+			assertFalse(m.containsKey(0));
+			assertEquals(0, m.size());
+		}
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		final Random r = new Random(0);
+		final Map<Integer, Integer> t = new HashMap<>();
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap(0)) {
+			for (int i = 0; i < 200000; i++) {
+				final int k = r.nextInt(10000) - 5000, v = r.nextInt();
+				switch (r.nextInt(4)) {
+				case 0:
+					assertEquals(t.getOrDefault(k, 0).intValue(), m.put(k, v));
+					t.put(k, v);
+					break;
+				case 1:
+					assertEquals(t.getOrDefault(k, 0).intValue(), m.addTo(k, v));
+					t.put(k, t.getOrDefault(k, 0) + v);
+					break;
+				case 2:
+					final Integer old = t.remove(k);
+					assertEquals(old == null ? 0 : old.intValue(), m.remove(k));
+					break;
+				default:
+					assertEquals(t.containsKey(k), m.containsKey(k));
+					assertEquals(t.getOrDefault(k, 0).intValue(), m.get(k));
+				}
+			}
+			assertEquals(t.size(), m.size());
+			assertEquals(t, m);
+			assertEquals(new Int2IntOpenHashMap(m), m);
+			assertEquals(new Int2IntOpenHashMap(m).hashCode(), m.hashCode());
+			assertTrue(m.trim());
+			assertEquals(t, m);
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap(16)) {
+			for (int i = 0; i < 10000; i++) m.put(i * 31, i);
+			final IntIterator i = m.keySet().iterator();
+			while (i.hasNext()) if ((i.nextInt() & 1) == 0) i.remove();
+			assertEquals(5000, m.size());
+			for (int j = 0; j < 10000; j++) assertEquals((j * 31 & 1) == 0 ? 0 : j, m.get(j * 31));
+		}
+	}
+
+	@Test
+	public void testClear() {
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap()) {
+			for (int i = 0; i < 1000; i++) m.put(i, i);
+			m.clear();
+			assertTrue(m.isEmpty());
+			for (int i = 0; i < 1000; i++) assertFalse(m.containsKey(i));
+			m.put(1, 1);
+			assertEquals(1, m.get(1));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClose() {
+		final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap();
+		m.put(1, 1);
+		m.close();
+		assertTrue(m.isClosed());
+		assertTrue(m.isEmpty());
+		m.close();
+		m.get(1);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testIteratorAfterClose() {
+		final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap();
+		m.put(1, 1);
+		final IntIterator i = m.keySet().iterator();
+		m.close();
+		i.hasNext();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEntryAfterClose() {
+		final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap();
+		m.put(1, 1);
+		final Int2IntMap.Entry e = m.int2IntEntrySet().iterator().next();
+		m.close();
+		e.getIntValue();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testViewAfterClose() {
+		final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap();
+		m.close();
+		m.values();
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap()) {
+			for (int i = 0; i < 1000; i++) m.put(i, -i);
+			final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			final ObjectOutputStream oos = new ObjectOutputStream(baos);
+			oos.writeObject(m);
+			oos.close();
+			try (final Int2IntOffHeapOpenHashMap n = (Int2IntOffHeapOpenHashMap)new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject()) {
+				assertEquals(m, n);
+			}
+		}
+	}
+
+	@Test
+	public void testForEachPrimitive() {
+		try (final Int2IntOffHeapOpenHashMap m = new Int2IntOffHeapOpenHashMap(0)) {
+			for (int i = 0; i < 10000; i++) m.put(i - 5000, i);
+			for (int i = 0; i < 10000; i += 3) m.remove(i - 5000);
+			final Map<Integer, Integer> t = new HashMap<>();
+			m.forEachPrimitive((k, v) -> assertEquals(null, t.put(Integer.valueOf(k), Integer.valueOf(v))));
+			assertEquals(m, t);
+			assertTrue(t.containsKey(Integer.valueOf(0)));
+		}
+	}
+}
@@ -21,9 +21,15 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
 import org.junit.Test;
 
+import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.HashStatistics;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
 public class Int2IntOpenHashMapTest {
@@ -165,4 +171,230 @@ public class Int2IntOpenHashMapTest {
 		assertEquals(0, m.size());
 		assertEquals(keys, t);
 	}
+
+	@Test
+	public void testIncrementalRehash() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		final HashMap<Integer, Integer> t = new HashMap<>();
+		final Random r = new Random(0);
+		boolean migrated = false;
+		for (int i = 0; i < 200000; i++) {
+			// Grow for a while, then shrink, so that both directions are exercised
+			final int k = r.nextInt(i < 100000 ? 50000 : 5000) - 10;
+			final int v = r.nextInt();
+			switch (r.nextInt(i < 100000 ? 6 : 3)) {
+			case 0:
+				assertEquals(t.remove(Integer.valueOf(k)), m.containsKey(k) ? Integer.valueOf(m.remove(k)) : null);
+				break;
+			case 1:
+				assertEquals(t.getOrDefault(Integer.valueOf(k), Integer.valueOf(0)).intValue(), m.addTo(k, v));
+				t.merge(Integer.valueOf(k), Integer.valueOf(v), Integer::sum);
+				break;
+			case 2:
+				assertEquals(Boolean.valueOf(t.containsKey(Integer.valueOf(k))), Boolean.valueOf(m.containsKey(k)));
+				assertEquals(t.getOrDefault(Integer.valueOf(k), Integer.valueOf(-1)).intValue(), m.getOrDefault(k, -1));
+				break;
+			default:
+				final Integer old = t.put(Integer.valueOf(k), Integer.valueOf(v));
+				assertEquals(old == null ? 0 : old.intValue(), m.put(k, v));
+			}
+			migrated |= m.migratingKey != null;
+			assertEquals(t.size(), m.size());
+		}
+		assertTrue(migrated);
+		for (final Integer k : t.keySet()) assertEquals(t.get(k).intValue(), m.get(k.intValue()));
+		assertEquals(t, m);
+		assertEquals(t.hashCode(), m.hashCode());
+		assertTrue(m.migratingKey == null);
+	}
+
+	@Test
+	public void testIncrementalRehashBounded() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		for (int i = 0; i < 100000; i++) {
+			final int n = m.n;
+			final boolean pending = m.migratingKey != null;
+			m.put(i, i);
+			// A new resize never starts while the previous migration is still in progress
+			if (m.n != n) assertFalse(pending);
+		}
+		for (int i = 0; i < 100000; i++) assertEquals(i, m.get(i));
+		m.incrementalRehash(false);
+		assertTrue(m.migratingKey == null);
+		assertEquals(100000, m.size());
+	}
+
+	@Test
+	public void testGetAll() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.defaultReturnValue(-1);
+		for (int i = 0; i < 5000; i += 2) m.put(i, i + 1);
+		final int[] keys = new int[3001];
+		for (int i = 0; i < keys.length; i++) keys[i] = i - 1;
+		final int[] out = new int[keys.length - 1];
+		m.getAll(keys, 1, out.length, out);
+		for (int i = 0; i < out.length; i++) assertEquals(i % 2 == 0 ? i + 1 : -1, out[i]);
+
+		final long[] bits = new long[(out.length + 63) / 64];
+		java.util.Arrays.fill(bits, -1);
+		assertEquals(1500, m.containsKeys(keys, 1, out.length, bits));
+		for (int i = 0; i < out.length; i++) assertEquals(i % 2 == 0, (bits[i / 64] & 1L << i) != 0);
+		// Bits past the batch are left alone
+		assertEquals(-1L << (out.length % 64), bits[bits.length - 1] & -1L << (out.length % 64));
+	}
+
+	@Test
+	public void testGetAllIncrementalRehash() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		final int[] keys = new int[1000];
+		final int[] out = new int[keys.length];
+		final long[] bits = new long[(keys.length + 63) / 64];
+		for (int i = 0; i < keys.length; i++) {
+			m.put(keys[i] = i * 31, i);
+			if (m.migratingKey != null) {
+				m.getAll(keys, 0, i + 1, out);
+				for (int j = 0; j <= i; j++) assertEquals(j, out[j]);
+				assertEquals(i + 1, m.containsKeys(keys, 0, i + 1, bits));
+			}
+		}
+	}
+
+	@Test
+	public void testPutAllArrays() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.put(3, 100);
+		final int[] keys = new int[10002], values = new int[10002];
+		for (int i = 0; i < 10000; i++) {
+			keys[i + 1] = i;
+			values[i + 1] = -i;
+		}
+		keys[10001] = 5;
+		values[10001] = 55;
+		m.putAll(keys, values, 1, 10001);
+		final int n = m.n;
+		assertEquals(10000, m.size());
+		assertEquals(0, m.get(0));
+		assertEquals(-3, m.get(3));
+		assertEquals(55, m.get(5));
+		for (int i = 6; i < 10000; i++) assertEquals(-i, m.get(i));
+		assertTrue(m.containsKey(0));
+		assertFalse(m.containsKey(10000));
+		// Pre-sizing left enough room for further insertions
+		m.putAll(keys, values, 0, 1);
+		assertEquals(n, m.n);
+
+		m.ensureCapacity(1 << 20);
+		assertTrue(m.n >= (1 << 20));
+		assertEquals(10000, m.size());
+	}
+
+	@Test
+	public void testStatistics() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(0);
+		for (int i = 0; i < 1000; i++) m.put(i * 31, i);
+		HashStatistics s = m.statistics();
+		assertEquals(1000, s.size());
+		assertEquals(m.n, s.capacity());
+		assertEquals(999. / m.n, s.load(), 1E-9);
+		assertTrue(s.rehashes() > 0);
+		assertTrue(s.allocatedBytes() >= s.tableBytes());
+		assertEquals((m.n + 1L) * 8, s.tableBytes());
+
+		long max = 0, sum = 0;
+		for (int pos = 0; pos < m.n; pos++) {
+			if (m.key[pos] == 0) continue;
+			final long d = (pos - HashCommon.mix(m.key[pos])) & m.mask;
+			max = Math.max(max, d);
+			sum += d;
+		}
+		assertEquals(max, s.maxDisplacement());
+		assertEquals(sum / 999., s.averageDisplacement(), 1E-9);
+		assertEquals(max + 1, s.displacementHistogram().length);
+		assertTrue(s.averageUnsuccessfulProbes() >= 1);
+
+		final HashStatistics c = m.clone().statistics();
+		assertEquals(0, c.rehashes());
+		assertEquals(0, c.allocatedBytes());
+
+		final long rehashes = s.rehashes();
+		m.clear();
+		s = m.statistics();
+		assertEquals(0, s.maxDisplacement());
+		assertEquals(0, s.displacementHistogram().length);
+		assertEquals(1, s.averageUnsuccessfulProbes(), 0);
+		assertEquals(rehashes, s.rehashes());
+	}
+
+	private static void testParallelBuild(final int n, final float f) {
+		final Random r = new Random(n);
+		final int[] k = new int[n];
+		final int[] v = new int[n];
+		// Duplicates and the zero key must be handled as by sequential insertion.
+		for (int i = 0; i < n; i++) {
+			k[i] = r.nextInt(n);
+			v[i] = r.nextInt();
+		}
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap(k, v, f);
+		final Int2IntOpenHashMap m = Int2IntOpenHashMap.parallelBuild(k, v, f);
+		assertEquals(t.size(), m.size());
+		assertEquals(t, m);
+		assertEquals(t.containsKey(0), m.containsKey(0));
+		for (int i = -10; i < n + 10; i++) assertEquals(t.get(i), m.get(i));
+
+		// The table must be a valid linear-probing table.
+		for (int i = 0; i < n; i += 2) m.remove(i);
+		for (int i = 0; i < n; i++) assertEquals(i % 2 == 0 ? 0 : t.get(i), m.get(i));
+		for (int i = 0; i < n; i += 2) m.put(i, i);
+		for (int i = 0; i < n; i += 2) assertEquals(i, m.get(i));
+	}
+
+	@Test
+	public void testParallelBuild() {
+		testParallelBuild(0, Hash.DEFAULT_LOAD_FACTOR);
+		testParallelBuild(100, Hash.DEFAULT_LOAD_FACTOR);
+		testParallelBuild(1 << 20, Hash.DEFAULT_LOAD_FACTOR);
+		testParallelBuild(1 << 20, Hash.VERY_FAST_LOAD_FACTOR);
+		// Almost full tables force many probe sequences to cross region boundaries.
+		testParallelBuild(1 << 20, .99f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelBuildDifferentLengths() {
+		Int2IntOpenHashMap.parallelBuild(new int[2], new int[1]);
+	}
+
+	private static void testParallelCombine(final int maps, final int n, final IntBinaryOperator combiner) {
+		final Random r = new Random(n);
+		final Int2IntOpenHashMap[] m = new Int2IntOpenHashMap[maps];
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		for (int i = 0; i < maps; i++) {
+			m[i] = new Int2IntOpenHashMap();
+			// Some maps migrate incrementally, and the zero key must be combined, too.
+			m[i].incrementalRehash(i % 2 == 0);
+			for (int j = 0; j < n; j++) m[i].put(r.nextInt(2 * n), r.nextInt(1000));
+			for (final Int2IntMap.Entry e : m[i].int2IntEntrySet()) {
+				final int k = e.getIntKey();
+				t.put(k, t.containsKey(k) ? combiner.applyAsInt(t.get(k), e.getIntValue()) : e.getIntValue());
+			}
+		}
+		final Int2IntOpenHashMap c = Int2IntOpenHashMap.parallelCombine(m, combiner);
+		assertEquals(t, c);
+		for (int i = -10; i < 2 * n + 10; i++) assertEquals(t.get(i), c.get(i));
+		c.put(-1, -1);
+		assertEquals(t.size() + 1, c.size());
+	}
+
+	@Test
+	public void testParallelCombine() {
+		testParallelCombine(0, 0, Integer::sum);
+		testParallelCombine(3, 100, Integer::sum);
+		testParallelCombine(3, 100, Math::min);
+		testParallelCombine(8, 1 << 16, Integer::sum);
+		testParallelCombine(8, 1 << 16, Math::max);
+		// A non-commutative combiner checks that values are combined in the order of the maps.
+		testParallelCombine(8, 1 << 16, (a, b) -> 31 * a + b);
+	}
 }
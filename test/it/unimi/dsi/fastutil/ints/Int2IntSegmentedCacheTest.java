@@ -0,0 +1,166 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.Int2IntSegmentedCache.Policy;
+import it.unimi.dsi.fastutil.longs.Long2ObjectSegmentedCache;
+
+public class Int2IntSegmentedCacheTest {
+
+	@Test
+	public void testSingleSegmentIsLRU() {
+		final int capacity = 100;
+		final Int2IntSegmentedCache c = new Int2IntSegmentedCache(capacity, 1, Policy.LRU);
+		// A reference implementation based on access-ordered java.util.LinkedHashMap.
+		final java.util.LinkedHashMap<Integer, Integer> t = new java.util.LinkedHashMap<Integer, Integer>(16, .75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final java.util.Map.Entry<Integer, Integer> eldest) {
+				return size() > capacity;
+			}
+		};
+		final Random r = new Random(0);
+		long hits = 0;
+		for (int i = 0; i < 100000; i++) {
+			final int k = r.nextInt(300);
+			// Mostly reads, so that the buffer of accessed keys overflows.
+			if (r.nextInt(10) != 0) {
+				final Integer v = t.get(Integer.valueOf(k));
+				if (v != null) hits++;
+				assertEquals(v == null ? 0 : v.intValue(), c.get(k));
+			}
+			else {
+				final int v = r.nextInt();
+				t.put(Integer.valueOf(k), Integer.valueOf(v));
+				c.put(k, v);
+			}
+			assertEquals(t.size(), c.size());
+		}
+		assertEquals(hits, c.hits());
+		for (final int k : t.keySet()) assertTrue(c.containsKey(k));
+	}
+
+	@Test
+	public void testClock() {
+		final Int2IntSegmentedCache c = new Int2IntSegmentedCache(3, 1, Policy.CLOCK);
+		c.put(1, 1);
+		c.put(2, 2);
+		c.put(3, 3);
+		assertEquals(1, c.get(1));
+		assertEquals(3, c.get(3));
+		c.put(4, 4); // 1 gets a second chance, 2 is evicted
+		assertFalse(c.containsKey(2));
+		c.put(5, 5); // 3 gets a second chance, 1 is evicted
+		assertFalse(c.containsKey(1));
+		assertTrue(c.containsKey(3));
+		assertTrue(c.containsKey(4));
+		assertTrue(c.containsKey(5));
+		assertEquals(2, c.evictions());
+	}
+
+	@Test
+	public void testTimeToLive() throws InterruptedException {
+		final Int2IntSegmentedCache c = new Int2IntSegmentedCache(10, 2, Policy.LRU, 1, TimeUnit.MILLISECONDS);
+		c.defaultReturnValue(-1);
+		c.put(0, 10);
+		c.put(1, 11);
+		Thread.sleep(20);
+		assertFalse(c.containsKey(0));
+		assertEquals(-1, c.get(1));
+		assertEquals(2, c.size());
+		assertEquals(20, c.computeIfAbsent(0, k -> k + 20));
+		assertEquals(-1, c.put(1, 21));
+		c.cleanUp();
+		Thread.sleep(20);
+		c.cleanUp();
+		assertEquals(0, c.size());
+
+		final Int2IntSegmentedCache d = new Int2IntSegmentedCache(10, 2, Policy.CLOCK, 1, TimeUnit.HOURS);
+		d.put(0, 10);
+		d.cleanUp();
+		assertEquals(10, d.get(0));
+	}
+
+	@Test
+	public void testLRUEvictsExpiredFirst() throws InterruptedException {
+		final Int2IntSegmentedCache c = new Int2IntSegmentedCache(2, 1, Policy.LRU, 400, TimeUnit.MILLISECONDS);
+		c.put(1, 1);
+		Thread.sleep(250);
+		c.put(2, 2);
+		assertEquals(1, c.get(1)); // 2 is now the least recently used entry
+		Thread.sleep(200); // 1 has expired, 2 has not
+		c.put(3, 3);
+		assertEquals(1, c.evictions());
+		assertFalse(c.containsKey(1));
+		assertTrue(c.containsKey(2));
+		assertTrue(c.containsKey(3));
+	}
+
+	@Test
+	public void testComputeIfAbsent() {
+		final Long2ObjectSegmentedCache<String> c = new Long2ObjectSegmentedCache<>(4);
+		final AtomicInteger calls = new AtomicInteger();
+		assertEquals("1", c.computeIfAbsent(1, k -> { calls.incrementAndGet(); return Long.toString(k); }));
+		assertEquals("1", c.computeIfAbsent(1, k -> { calls.incrementAndGet(); return Long.toString(k); }));
+		assertEquals(1, calls.get());
+		assertEquals(1, c.hits());
+		assertEquals(1, c.misses());
+		assertEquals("1", c.remove(1));
+		assertEquals(null, c.get(1));
+	}
+
+	@Test
+	public void testConcurrent() throws InterruptedException {
+		for (final Policy policy : Policy.values()) {
+			final Int2IntSegmentedCache c = new Int2IntSegmentedCache(1000, 8, policy);
+			final Thread[] thread = new Thread[8];
+			final AtomicInteger errors = new AtomicInteger();
+			for (int t = 0; t < thread.length; t++) {
+				final int seed = t;
+				thread[t] = new Thread(() -> {
+					final Random r = new Random(seed);
+					for (int i = 0; i < 200000; i++) {
+						final int k = r.nextInt(5000);
+						final int v = c.get(k);
+						if (v != 0 && v != k + 1) errors.incrementAndGet();
+						if (v == 0) c.put(k, k + 1);
+					}
+				});
+				thread[t].start();
+			}
+			for (final Thread t : thread) t.join();
+			assertEquals(0, errors.get());
+			assertTrue(c.size() <= c.capacity());
+			assertEquals(8 * 200000, c.hits() + c.misses());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroCapacity() {
+		new Int2IntSegmentedCache(0);
+	}
+}
@@ -0,0 +1,127 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.Aggregate;
+
+public class Int2LongAggregatorTest {
+
+	private static void check(final Int2LongAggregator a, final int[] k, final long[] v) {
+		final Int2LongOpenHashMap count = new Int2LongOpenHashMap(), sum = new Int2LongOpenHashMap(), min = new Int2LongOpenHashMap(), max = new Int2LongOpenHashMap();
+		for(int i = 0; i < k.length; i++) {
+			count.addTo(k[i], 1);
+			sum.addTo(k[i], v[i]);
+			min.put(k[i], min.containsKey(k[i]) ? Math.min(min.get(k[i]), v[i]) : v[i]);
+			max.put(k[i], max.containsKey(k[i]) ? Math.max(max.get(k[i]), v[i]) : v[i]);
+		}
+		assertEquals(count.size(), a.size());
+		assertEquals(count, a.toMap(Aggregate.COUNT));
+		assertEquals(sum, a.toMap(Aggregate.SUM));
+		assertEquals(min, a.toMap(Aggregate.MIN));
+		assertEquals(max, a.toMap(Aggregate.MAX));
+		for(final int key : count.keySet()) {
+			assertTrue(a.containsKey(key));
+			assertEquals(count.get(key), a.get(key, Aggregate.COUNT));
+			assertEquals(sum.get(key), a.get(key, Aggregate.SUM));
+			assertEquals(min.get(key), a.get(key, Aggregate.MIN));
+			assertEquals(max.get(key), a.get(key, Aggregate.MAX));
+		}
+	}
+
+	private static long[] values(final Random r, final int n) {
+		final long[] v = new long[n];
+		for(int i = 0; i < n; i++) v[i] = r.nextInt() % 1000;
+		return v;
+	}
+
+	@Test
+	public void testSmall() {
+		final Int2LongAggregator a = new Int2LongAggregator(Aggregate.SUM, Aggregate.COUNT, Aggregate.MAX, Aggregate.MIN);
+		assertTrue(a.isEmpty());
+		a.add(0, -3);
+		a.add(1, 5);
+		a.add(0, 7);
+		a.add(1, 2);
+		a.add(2, 4);
+		assertEquals(3, a.size());
+		assertEquals(2, a.get(0, Aggregate.COUNT));
+		assertEquals(4, a.get(0, Aggregate.SUM));
+		assertEquals(-3, a.get(0, Aggregate.MIN));
+		assertEquals(7, a.get(0, Aggregate.MAX));
+		assertEquals(7, a.get(1, Aggregate.SUM));
+		assertEquals(2, a.get(1, Aggregate.MIN));
+		assertEquals(1, a.get(2, Aggregate.COUNT));
+		assertFalse(a.containsKey(3));
+		assertEquals(0, a.get(3, Aggregate.SUM));
+		a.clear();
+		assertTrue(a.isEmpty());
+		assertFalse(a.containsKey(0));
+	}
+
+	@Test
+	public void testAddAll() {
+		final Random r = new Random(0);
+		final int n = 100000;
+		final int[] k = new int[n];
+		for(int i = 0; i < n; i++) k[i] = r.nextInt(1000) - 500;
+		final long[] v = values(r, n);
+		final Int2LongAggregator a = new Int2LongAggregator(Aggregate.COUNT, Aggregate.SUM, Aggregate.MIN, Aggregate.MAX);
+		a.addAll(k, v);
+		check(a, k, v);
+	}
+
+	@Test
+	public void testParallel() {
+		final Random r = new Random(0);
+		for(final int n : new int[] { 1000, 1 << 20 }) {
+			for(final int keys : new int[] { 10, 1 << 18 }) {
+				final int[] k = new int[n];
+				for(int i = 0; i < n; i++) k[i] = r.nextInt(keys);
+				final long[] v = values(r, n);
+				final Int2LongAggregator a = Int2LongAggregator.parallelAggregate(k, v, Aggregate.COUNT, Aggregate.SUM, Aggregate.MIN, Aggregate.MAX);
+				check(a, k, v);
+				// Sequential additions must be routed to the same partitions
+				a.addAll(k, v, 0, n / 2);
+				final int[] k2 = new int[n + n / 2];
+				final long[] v2 = new long[n + n / 2];
+				System.arraycopy(k, 0, k2, 0, n);
+				System.arraycopy(k, 0, k2, n, n / 2);
+				System.arraycopy(v, 0, v2, 0, n);
+				System.arraycopy(v, 0, v2, n, n / 2);
+				check(a, k2, v2);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingAggregate() {
+		new Int2LongAggregator(Aggregate.SUM).get(0, Aggregate.MAX);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateAggregate() {
+		new Int2LongAggregator(Aggregate.SUM, Aggregate.SUM);
+	}
+}
@@ -0,0 +1,135 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.io.BinIO;
+
+public class IntCuckooHashSetTest {
+
+	@SuppressWarnings("boxing")
+	private static void test(final int n, final float f) {
+		final IntCuckooHashSet s = new IntCuckooHashSet(0, f);
+		final HashSet<Integer> t = new HashSet<>();
+		final Random r = new Random(0);
+
+		for(int i = 0; i < 10 * n; i++) {
+			final int k = r.nextInt(2 * n) - n;
+			switch(r.nextInt(3)) {
+			case 0:
+				assertEquals(t.remove(k), s.remove(k));
+				break;
+			default:
+				assertEquals(t.add(k), s.add(k));
+			}
+			assertEquals(t.size(), s.size());
+		}
+
+		for(int k = -n; k < n; k++) assertEquals(Integer.toString(k), t.contains(k), s.contains(k));
+		assertEquals(t, s);
+		assertEquals(t.hashCode(), s.hashCode());
+
+		// Remove through the iterator, so that entries in the stash are exercised.
+		for(final IntIterator i = s.iterator(); i.hasNext();) {
+			final int k = i.nextInt();
+			if ((k & 1) == 0) {
+				i.remove();
+				assertTrue(t.remove(k));
+			}
+		}
+		assertEquals(t, s);
+		assertEquals(s, s.clone());
+
+		s.trim();
+		assertEquals(t, s);
+	}
+
+	@Test
+	public void testSmall() {
+		test(10, .9f);
+	}
+
+	@Test
+	public void test1000() {
+		test(1000, .9f);
+		test(1000, .75f);
+	}
+
+	@Test
+	public void test100000() {
+		test(100000, .9f);
+	}
+
+	@Test
+	public void testZero() {
+		final IntCuckooHashSet s = new IntCuckooHashSet();
+		assertFalse(s.contains(0));
+		assertTrue(s.add(0));
+		assertFalse(s.add(0));
+		assertTrue(s.contains(0));
+		assertEquals(1, s.size());
+		assertTrue(s.iterator().hasNext());
+		assertTrue(s.remove(0));
+		assertFalse(s.contains(0));
+		assertTrue(s.isEmpty());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final IntCuckooHashSet s = new IntCuckooHashSet(Hash.DEFAULT_INITIAL_SIZE, .9f);
+		for(int i = -1000; i < 1000; i++) s.add(i * 31);
+		final java.io.File file = java.io.File.createTempFile(getClass().getSimpleName(), "set");
+		file.deleteOnExit();
+		BinIO.storeObject(s, file);
+		final IntCuckooHashSet t = (IntCuckooHashSet)BinIO.loadObject(file);
+		assertEquals(s, t);
+		for(int i = -1000; i < 1000; i++) assertTrue(t.contains(i * 31));
+	}
+
+	@Test
+	public void testFullLoad() {
+		// At load factor 1 insertions must frequently resort to the stash and rebuild the table.
+		final IntCuckooHashSet s = new IntCuckooHashSet(0, 1f);
+		final IntOpenHashSet t = new IntOpenHashSet();
+		final Random r = new Random(0);
+		for(int i = 0; i < 1 << 14; i++) {
+			final int k = r.nextInt();
+			assertEquals(t.add(k), s.add(k));
+			assertTrue(s.stashSize() <= IntCuckooHashSet.STASH_SIZE);
+		}
+		assertEquals(t, s);
+		for(final IntIterator i = t.iterator(); i.hasNext();) {
+			final int k = i.nextInt();
+			if ((k & 3) != 0) {
+				assertTrue(s.remove(k));
+				i.remove();
+			}
+		}
+		assertEquals(t, s);
+		assertEquals(0, s.stashSize());
+	}
+}
@@ -0,0 +1,70 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntDirectAddressSetTest {
+
+	@Test
+	public void testRange() {
+		final IntDirectAddressSet s = new IntDirectAddressSet(64);
+		assertTrue(s.add(0));
+		assertTrue(s.add(63));
+		assertFalse(s.add(63));
+		assertFalse(s.contains(-1));
+		assertFalse(s.contains(64));
+		assertFalse(s.remove(64));
+		assertEquals(2, s.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddOutOfRange() {
+		new IntDirectAddressSet(64).add(-1);
+	}
+
+	@Test
+	public void testRandom() {
+		final Random r = new Random(0);
+		final IntDirectAddressSet s = new IntDirectAddressSet(1000);
+		final IntOpenHashSet t = new IntOpenHashSet();
+		for (int i = 0; i < 10000; i++) {
+			final int k = r.nextInt(1000);
+			if (r.nextInt(4) == 0) assertEquals(t.remove(k), s.remove(k));
+			else assertEquals(t.add(k), s.add(k));
+			assertEquals(t.size(), s.size());
+		}
+		assertEquals(t, s);
+		assertEquals(s, t);
+		assertEquals(s, s.clone());
+
+		int last = -1;
+		for (final IntIterator i = s.iterator(); i.hasNext();) {
+			final int k = i.nextInt();
+			assertTrue(k > last);
+			last = k;
+			if (k % 2 == 0) i.remove();
+		}
+		for (final int k : t) assertEquals(k % 2 != 0, s.contains(k));
+	}
+}
@@ -24,12 +24,15 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.HashStatistics;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 @SuppressWarnings("rawtypes")
@@ -492,6 +495,48 @@ public class IntOpenHashSetTest {
 	}
 
 
+	@Test
+	public void testIncrementalRehash() throws IOException, ClassNotFoundException {
+		final IntOpenHashSet s = new IntOpenHashSet();
+		s.incrementalRehash(true);
+		final HashSet<Integer> t = new HashSet<>();
+		final Random r = new Random(0);
+		boolean migrated = false;
+		for (int i = 0; i < 200000; i++) {
+			final int k = r.nextInt(i < 100000 ? 50000 : 5000) - 10;
+			switch (r.nextInt(i < 100000 ? 6 : 3)) {
+			case 0:
+				assertEquals(Boolean.valueOf(t.remove(Integer.valueOf(k))), Boolean.valueOf(s.remove(k)));
+				break;
+			case 1:
+			case 2:
+				assertEquals(Boolean.valueOf(t.contains(Integer.valueOf(k))), Boolean.valueOf(s.contains(k)));
+				break;
+			default:
+				assertEquals(Boolean.valueOf(t.add(Integer.valueOf(k))), Boolean.valueOf(s.add(k)));
+			}
+			migrated |= s.migratingKey != null;
+			assertEquals(t.size(), s.size());
+		}
+		assertTrue(migrated);
+		assertEquals(t, s);
+		assertEquals(t.hashCode(), s.hashCode());
+		assertTrue(s.migratingKey == null);
+	}
+
+	@Test
+	public void testContainsAllBitmap() {
+		final IntOpenHashSet s = new IntOpenHashSet();
+		for (int i = 0; i < 5000; i += 3) s.add(i);
+		final int[] keys = new int[3000];
+		for (int i = 0; i < keys.length; i++) keys[i] = i;
+		final long[] bits = new long[keys.length / 64 + 1];
+		assertEquals(1000, s.containsAll(keys, 0, keys.length, bits));
+		for (int i = 0; i < keys.length; i++) assertEquals(i % 3 == 0, (bits[i / 64] & 1L << i) != 0);
+		assertEquals(999, s.containsAll(keys, 1, keys.length - 1, bits));
+		for (int i = 0; i < keys.length - 1; i++) assertEquals(i % 3 == 2, (bits[i / 64] & 1L << i) != 0);
+	}
+
 	@Test
 	public void test1() throws IOException, ClassNotFoundException {
 		test(1, Hash.DEFAULT_LOAD_FACTOR);
@@ -520,4 +565,25 @@ public class IntOpenHashSetTest {
 		test(1000, Hash.FAST_LOAD_FACTOR);
 		test(1000, Hash.VERY_FAST_LOAD_FACTOR);
 	}
+
+	@Test
+	public void testStatisticsDegenerateHash() {
+		final IntOpenCustomHashSet s = new IntOpenCustomHashSet(1000, new IntHash.Strategy() {
+			@Override
+			public int hashCode(final int e) { return 0; }
+			@Override
+			public boolean equals(final int a, final int b) { return a == b; }
+		});
+		for (int i = 1; i <= 100; i++) s.add(i);
+		final HashStatistics t = s.statistics();
+		assertEquals(100, t.size());
+		assertEquals(99, t.maxDisplacement());
+		assertEquals(49.5, t.averageDisplacement(), 1E-9);
+		final long[] histogram = new long[100];
+		Arrays.fill(histogram, 1);
+		assertArrayEquals(histogram, t.displacementHistogram());
+		// One run of 100 keys, and n - 100 unused positions.
+		assertEquals((100 * 101 / 2 + 100 + s.n - 100.) / s.n, t.averageUnsuccessfulProbes(), 1E-9);
+		assertEquals(0, t.rehashes());
+	}
 }
@@ -0,0 +1,131 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashStatistics;
+import it.unimi.dsi.fastutil.io.BinIO;
+
+public class IntRobinHoodHashSetTest {
+
+	@SuppressWarnings("boxing")
+	private static void test(final int n, final float f) {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet(0, f);
+		final HashSet<Integer> t = new HashSet<>();
+		final Random r = new Random(0);
+
+		for(int i = 0; i < 10 * n; i++) {
+			final int k = r.nextInt(2 * n) - n;
+			switch(r.nextInt(3)) {
+			case 0:
+				assertEquals(t.remove(k), s.remove(k));
+				break;
+			default:
+				assertEquals(t.add(k), s.add(k));
+			}
+			assertEquals(t.size(), s.size());
+		}
+
+		for(int k = -n; k < n; k++) assertEquals(Integer.toString(k), t.contains(k), s.contains(k));
+		assertEquals(t, s);
+		assertEquals(t.hashCode(), s.hashCode());
+
+		// Remove through the iterator, so that entries wrapped around the table are exercised.
+		for(final IntIterator i = s.iterator(); i.hasNext();) {
+			final int k = i.nextInt();
+			if ((k & 1) == 0) {
+				i.remove();
+				assertTrue(t.remove(k));
+			}
+		}
+		assertEquals(t, s);
+		assertEquals(s, s.clone());
+
+		s.trim();
+		assertEquals(t, s);
+	}
+
+	@Test
+	public void testSmall() {
+		test(10, .9f);
+	}
+
+	@Test
+	public void test1000() {
+		test(1000, .9f);
+		test(1000, .75f);
+	}
+
+	@Test
+	public void test100000() {
+		test(100000, .9f);
+	}
+
+	@Test
+	public void testZero() {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet();
+		assertFalse(s.contains(0));
+		assertTrue(s.add(0));
+		assertFalse(s.add(0));
+		assertTrue(s.contains(0));
+		assertEquals(1, s.size());
+		assertTrue(s.iterator().hasNext());
+		assertTrue(s.remove(0));
+		assertFalse(s.contains(0));
+		assertTrue(s.isEmpty());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet(Hash.DEFAULT_INITIAL_SIZE, .9f);
+		for(int i = -1000; i < 1000; i++) s.add(i * 31);
+		final java.io.File file = java.io.File.createTempFile(getClass().getSimpleName(), "set");
+		file.deleteOnExit();
+		BinIO.storeObject(s, file);
+		final IntRobinHoodHashSet t = (IntRobinHoodHashSet)BinIO.loadObject(file);
+		assertEquals(s, t);
+		for(int i = -1000; i < 1000; i++) assertTrue(t.contains(i * 31));
+	}
+
+	@Test
+	public void testStatistics() {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet(1 << 16, .9f);
+		final IntOpenHashSet t = new IntOpenHashSet(1 << 16, .9f);
+		final Random r = new Random(0);
+		for(int i = 0; i < 1 << 16; i++) {
+			final int k = r.nextInt();
+			s.add(k);
+			t.add(k);
+		}
+		final HashStatistics robinHood = s.statistics(), linear = t.statistics();
+		assertEquals(s.size(), robinHood.size());
+		assertEquals(robinHood.capacity(), linear.capacity());
+		// Displacements have the same average, but a much smaller maximum.
+		assertEquals(linear.averageDisplacement(), robinHood.averageDisplacement(), 1E-9);
+		assertTrue(robinHood.maxDisplacement() + " >= " + linear.maxDisplacement(), robinHood.maxDisplacement() < linear.maxDisplacement());
+	}
+}
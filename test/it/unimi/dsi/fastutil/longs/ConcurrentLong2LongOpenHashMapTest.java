@@ -0,0 +1,55 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ConcurrentLong2LongOpenHashMapTest {
+
+	@Test
+	public void testZeroKeyAndWideValues() {
+		final ConcurrentLong2LongOpenHashMap m = new ConcurrentLong2LongOpenHashMap();
+		assertEquals(0, m.put(0, Long.MIN_VALUE));
+		assertEquals(0, m.put(Long.MAX_VALUE, Long.MAX_VALUE));
+		assertEquals(Long.MIN_VALUE, m.get(0));
+		assertEquals(Long.MAX_VALUE, m.get(Long.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, m.replace(Long.MAX_VALUE, -1));
+		assertTrue(m.replace(0, Long.MIN_VALUE, 1));
+		assertFalse(m.replace(0, Long.MIN_VALUE, 2));
+		assertEquals(1, m.get(0));
+		assertEquals(2, m.size());
+	}
+
+	@Test
+	public void testConcurrentAddTo() throws InterruptedException {
+		final ConcurrentLong2LongOpenHashMap m = new ConcurrentLong2LongOpenHashMap(0);
+		final int n = 50000, threads = 8;
+		final Thread[] thread = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			(thread[t] = new Thread(() -> {
+				for (long i = 0; i < n; i++) m.addTo(i * 0x9E3779B97F4A7C15L, 1L << 32);
+			})).start();
+		}
+		for (final Thread t : thread) t.join();
+		assertEquals(n, m.size());
+		for (long i = 0; i < n; i++) assertEquals((long)threads << 32, m.get(i * 0x9E3779B97F4A7C15L));
+	}
+}
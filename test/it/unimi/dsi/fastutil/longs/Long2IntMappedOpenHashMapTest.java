@@ -0,0 +1,211 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMappedOpenHashMap;
+
+public class Long2IntMappedOpenHashMapTest {
+
+	private File tempFile() throws IOException {
+		final File file = File.createTempFile(getClass().getPackage().getName() + "-", "-tmp");
+		file.deleteOnExit();
+		return file;
+	}
+
+	@Test
+	public void testStoreMap() throws IOException {
+		final Random r = new Random(0);
+		final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+		m.defaultReturnValue(-1);
+		for (int i = 0; i < 100000; i++) m.put(r.nextLong(), r.nextInt());
+		m.put(0, 42);
+
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(m, file.toString());
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			assertEquals(m.size(), n.size());
+			assertEquals(-1, n.defaultReturnValue());
+			for (final Long2IntMap.Entry e : m.long2IntEntrySet()) {
+				assertTrue(n.containsKey(e.getLongKey()));
+				assertEquals(e.getIntValue(), n.get(e.getLongKey()));
+			}
+			for (int i = 0; i < 100000; i++) {
+				final long k = r.nextLong();
+				assertEquals(m.containsKey(k), n.containsKey(k));
+				assertEquals(m.get(k), n.get(k));
+			}
+			assertEquals(m, n);
+			assertEquals(n, m);
+			assertEquals(m.hashCode(), n.hashCode());
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testStoreArrays() throws IOException {
+		final File file = tempFile();
+		Int2LongMappedOpenHashMap.store(new int[] { 1, 2, 3, 2 }, new long[] { 10, 20, 30, 40 }, file.toString());
+		try (final Int2LongMappedOpenHashMap n = Int2LongMappedOpenHashMap.map(file)) {
+			assertEquals(3, n.size());
+			assertEquals(10, n.get(1));
+			assertEquals(40, n.get(2));
+			assertEquals(30, n.get(3));
+			assertFalse(n.containsKey(0));
+			assertEquals(0, n.get(0));
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new Long2IntOpenHashMap(), file.toString());
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			assertTrue(n.isEmpty());
+			assertFalse(n.containsKey(0));
+			assertFalse(n.long2IntEntrySet().iterator().hasNext());
+		}
+		file.delete();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new Long2IntOpenHashMap(), file.toString());
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			n.put(1, 1);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testWrongTypes() throws IOException {
+		final File file = tempFile();
+		Int2LongMappedOpenHashMap.store(new int[] { 1 }, new long[] { 1 }, file.toString());
+		try {
+			Long2IntMappedOpenHashMap.map(file);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncated() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new long[] { 1 }, new int[] { 1 }, file.toString());
+		try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 1);
+		}
+		try {
+			Long2IntMappedOpenHashMap.map(file);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testClose() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new long[] { 1 }, new int[] { 1 }, file.toString());
+		final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file);
+		n.close();
+		file.delete();
+		assertTrue(n.isClosed());
+		n.close();
+		n.get(1);
+	}
+
+	@Test
+	public void testFailedStore() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new long[] { 1 }, new int[] { 10 }, file.toString());
+		final Long2IntOpenHashMap m = new Long2IntOpenHashMap() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public FastEntrySet long2IntEntrySet() {
+				throw new IllegalStateException();
+			}
+		};
+		m.put(1, 1);
+		try {
+			Long2IntMappedOpenHashMap.store(m, file.toString());
+		}
+		catch(final IllegalStateException expected) {}
+		// The previous image is left untouched, and the temporary file is removed.
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			assertEquals(10, n.get(1));
+		}
+		final String[] tmp = file.getAbsoluteFile().getParentFile().list((d, name) -> name.startsWith("." + file.getName()));
+		assertEquals(0, tmp.length);
+		file.delete();
+	}
+
+	@Test
+	public void testReplaceMapped() throws IOException {
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(new long[] { 1 }, new int[] { 10 }, file.toString());
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			final long[] k = new long[100000];
+			for (int i = 0; i < k.length; i++) k[i] = i + 2;
+			Long2IntMappedOpenHashMap.store(k, new int[k.length], file.toString());
+			// The old mapping refers to the replaced file, which is still intact.
+			assertEquals(1, n.size());
+			assertEquals(10, n.get(1));
+			try (final Long2IntMappedOpenHashMap o = Long2IntMappedOpenHashMap.map(file)) {
+				assertEquals(k.length, o.size());
+				assertFalse(o.containsKey(1));
+			}
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testForEachPrimitive() throws IOException {
+		final Random r = new Random(0);
+		final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+		for (int i = 0; i < 10000; i++) m.put(r.nextLong(), r.nextInt());
+		m.put(0, 42);
+
+		final File file = tempFile();
+		Long2IntMappedOpenHashMap.store(m, file.toString());
+		try (final Long2IntMappedOpenHashMap n = Long2IntMappedOpenHashMap.map(file)) {
+			final Long2IntOpenHashMap t = new Long2IntOpenHashMap();
+			n.forEachPrimitive((k, v) -> {
+				assertFalse(t.containsKey(k));
+				t.put(k, v);
+			});
+			assertEquals(m, t);
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,141 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.io.BinIO;
+
+public class Long2IntMinimalPerfectHashFunctionTest {
+
+	private static long[] keys(final int n, final long seed) {
+		final LongOpenHashSet s = new LongOpenHashSet(n);
+		final Random r = new Random(seed);
+		while(s.size() < n) s.add(r.nextLong());
+		return s.toLongArray();
+	}
+
+	private static int[] values(final int n) {
+		final int[] v = new int[n];
+		for(int i = 0; i < n; i++) v[i] = 3 * i + 1;
+		return v;
+	}
+
+	private static void test(final int n, final float gamma) {
+		final long[] k = keys(n, n);
+		final int[] v = values(n);
+		final Long2IntMinimalPerfectHashFunction f = new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(k), v, 0, gamma);
+		assertEquals(n, f.size());
+		final boolean[] seen = new boolean[n];
+		for(int i = 0; i < n; i++) {
+			assertEquals(v[i], f.get(k[i]));
+			final int p = f.indexOf(k[i]);
+			assertFalse(seen[p]);
+			seen[p] = true;
+		}
+	}
+
+	@Test
+	public void testSmall() {
+		for(int n = 0; n < 100; n++) test(n, Long2IntMinimalPerfectHashFunction.DEFAULT_GAMMA);
+	}
+
+	@Test
+	public void testLarge() {
+		test(100000, Long2IntMinimalPerfectHashFunction.DEFAULT_GAMMA);
+		test(100000, 1);
+	}
+
+	@Test
+	public void testBitsPerKey() {
+		final int n = 1000000;
+		final Long2IntMinimalPerfectHashFunction f = new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(keys(n, 0)), values(n));
+		assertTrue(Double.toString((double)f.numBits() / n), f.numBits() < 4.5 * n);
+		final Long2IntMinimalPerfectHashFunction g = new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(keys(n, 0)), values(n), 0, 1);
+		assertTrue(Double.toString((double)g.numBits() / n), g.numBits() < f.numBits());
+	}
+
+	@Test
+	public void testFingerprints() {
+		final int n = 10000;
+		final long[] k = keys(n, 0);
+		final int[] v = values(n);
+		final Long2IntMinimalPerfectHashFunction f = new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(k), v, 12);
+		f.defaultReturnValue(-1);
+		for(int i = 0; i < n; i++) {
+			assertEquals(v[i], f.get(k[i]));
+			assertTrue(f.containsKey(k[i]));
+		}
+
+		final LongOpenHashSet s = new LongOpenHashSet(k);
+		final Random r = new Random(1);
+		int falsePositives = 0;
+		for(int i = 0; i < 100000; i++) {
+			final long x = r.nextLong();
+			if (s.contains(x)) continue;
+			if (f.containsKey(x)) falsePositives++;
+			else assertEquals(-1, f.get(x));
+		}
+		// The expected number of false positives is 100000 / 4096.
+		assertTrue(Integer.toString(falsePositives), falsePositives < 60);
+	}
+
+	@Test
+	public void testNoFingerprints() {
+		final Long2IntMinimalPerfectHashFunction f = new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(new long[] { 1, 2, 3 }), new int[] { 4, 5, 6 });
+		// Without fingerprints, every key is in the domain.
+		assertTrue(f.containsKey(42));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicate() {
+		new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(new long[] { 1, 2, 3, 2 }), new int[4]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMismatch() {
+		new Long2IntMinimalPerfectHashFunction(LongArrayList.wrap(new long[] { 1, 2, 3 }), new int[4]);
+	}
+
+	@Test
+	public void testKeyFileAndSerialization() throws IOException, ClassNotFoundException {
+		final int n = 1000;
+		final long[] k = keys(n, 2);
+		final int[] v = values(n);
+		final File keyFile = File.createTempFile(getClass().getSimpleName(), "keys");
+		keyFile.deleteOnExit();
+		BinIO.storeLongs(k, keyFile);
+		final Long2IntMinimalPerfectHashFunction f = new Long2IntMinimalPerfectHashFunction(keyFile.toString(), v, 8);
+
+		final File file = File.createTempFile(getClass().getSimpleName(), "function");
+		file.deleteOnExit();
+		BinIO.storeObject(f, file);
+		final Long2IntMinimalPerfectHashFunction g = (Long2IntMinimalPerfectHashFunction)BinIO.loadObject(file);
+		for(int i = 0; i < n; i++) {
+			assertEquals(v[i], f.get(k[i]));
+			assertEquals(v[i], g.get(k[i]));
+		}
+	}
+}
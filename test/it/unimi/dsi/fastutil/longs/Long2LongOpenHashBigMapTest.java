@@ -0,0 +1,102 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+
+public class Long2LongOpenHashBigMapTest {
+
+	@Test
+	public void testRemove0() {
+		Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap(Hash.DEFAULT_INITIAL_SIZE);
+		for(int i = -1; i <= 1; i++) assertEquals(0, m.put(i, i + 10));
+		assertEquals(10, m.remove(0));
+		assertFalse(m.containsKey(0));
+		assertEquals(2, m.size64());
+
+		m = new Long2LongOpenHashBigMap(Hash.DEFAULT_INITIAL_SIZE);
+		for(int i = -1; i <= 1; i++) m.put(i, i + 10);
+		final LongIterator iterator = m.keySet().iterator();
+		while(iterator.hasNext()) if (iterator.nextLong() == 0) iterator.remove();
+		assertFalse(m.containsKey(0));
+		assertEquals(9, m.get(-1));
+		assertEquals(11, m.get(1));
+	}
+
+	@Test
+	public void testWrapAround() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap(4, .5f);
+		assertEquals(8, m.n);
+		// The following code inverts HashCommon.phiMix() and places strategically keys in slots 6, 7 and 0
+		m.put(HashCommon.invMix(6L), 6);
+		m.put(HashCommon.invMix(7L), 7);
+		m.put(HashCommon.invMix(6L + 8), 14);
+		assertNotEquals(0, m.key[0][0]);
+		assertNotEquals(0, m.key[0][6]);
+		assertNotEquals(0, m.key[0][7]);
+		final Long2LongOpenHashBigMap copy = m.clone();
+		final LongIterator iterator = m.keySet().iterator();
+		final Long2LongOpenHashBigMap t = new Long2LongOpenHashBigMap();
+		long k = iterator.nextLong();
+		t.put(k, copy.get(k));
+		k = iterator.nextLong();
+		t.put(k, copy.get(k));
+		// Originally, this remove would move the entry in slot 0 in slot 6 and we would return the entry in 0 twice
+		iterator.remove();
+		k = iterator.nextLong();
+		t.put(k, copy.get(k));
+		assertFalse(iterator.hasNext());
+		assertEquals(copy, t);
+		assertEquals(2, m.size64());
+	}
+
+	@Test
+	public void testAddToAndTrim() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = 0; i < 10000; i++) m.addTo(i % 1000, i);
+		assertEquals(1000, m.size64());
+		for(long i = 0; i < 1000; i++) assertEquals(i * 10 + 1000 * 45, m.get(i));
+		for(long i = 0; i < 900; i++) m.remove(i);
+		assertTrue(m.trim());
+		assertEquals(HashCommon.bigArraySize(100, Hash.DEFAULT_LOAD_FACTOR), m.n);
+		for(long i = 900; i < 1000; i++) assertEquals(i * 10 + 1000 * 45, m.get(i));
+	}
+
+	@Test
+	public void testForEachPrimitive() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = 0; i < 10000; i++) m.put(i * 7, -i);
+		for(long i = 0; i < 10000; i += 5) m.remove(i * 7);
+		final Long2LongOpenHashMap t = new Long2LongOpenHashMap();
+		m.forEachPrimitive((k, v) -> {
+			assertFalse(t.containsKey(k));
+			t.put(k, v);
+		});
+		assertEquals(m, t);
+		assertTrue(t.containsKey(7));
+		assertFalse(t.containsKey(0));
+	}
+}
@@ -29,6 +29,7 @@ import org.junit.Test;
 
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.HashStatistics;
 
 public class LongOpenHashBigSetTest {
 
@@ -154,4 +155,24 @@ public class LongOpenHashBigSetTest {
 		assertEquals(0, s.size64());
 		assertEquals(keys, t);
 	}
+
+	@Test
+	public void testStatistics() {
+		final LongOpenHashBigSet s = new LongOpenHashBigSet(0);
+		for (long i = 0; i < 1000; i++) s.add(i << 32);
+		final HashStatistics t = s.statistics();
+		assertEquals(1000, t.size());
+		assertEquals(s.n, t.capacity());
+		assertTrue(t.rehashes() > 0);
+		assertEquals(s.n * 8, t.tableBytes());
+		long max = 0;
+		for (long pos = 0; pos < s.n; pos++) {
+			final long k = s.key[(int)(pos >>> 27)][(int)(pos & s.segmentMask)];
+			if (k != 0) max = Math.max(max, (pos - HashCommon.mix(k)) & s.mask);
+		}
+		assertEquals(max, t.maxDisplacement());
+		long keys = 0;
+		for (final long c : t.displacementHistogram()) keys += c;
+		assertEquals(999, keys);
+	}
 }
@@ -0,0 +1,59 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class Object2IntMinimalPerfectHashFunctionTest {
+
+	@Test
+	public void testStrings() {
+		final List<String> keys = new ArrayList<>();
+		final int[] values = new int[10000];
+		for(int i = 0; i < values.length; i++) {
+			keys.add(Integer.toString(i));
+			values[i] = -i;
+		}
+		keys.set(0, null);
+		final Object2IntMinimalPerfectHashFunction<String> f = new Object2IntMinimalPerfectHashFunction<>(keys, values, 16);
+		f.defaultReturnValue(1);
+		for(int i = 0; i < values.length; i++) assertEquals(values[i], f.getInt(keys.get(i)));
+		assertEquals(1, f.getInt("-1"));
+	}
+
+	@Test
+	public void testEqualHashCodes() {
+		// "Aa" and "BB" have the same hash code, so all these keys must be handled by the fallback map.
+		final List<String> keys = new ArrayList<>();
+		for(int i = 0; i < 64; i++) {
+			final StringBuilder s = new StringBuilder();
+			for(int b = 0; b < 6; b++) s.append((i & 1 << b) != 0 ? "Aa" : "BB");
+			keys.add(s.toString());
+		}
+		final int[] values = new int[keys.size()];
+		for(int i = 0; i < values.length; i++) values[i] = i;
+		final Object2IntMinimalPerfectHashFunction<String> f = new Object2IntMinimalPerfectHashFunction<>(keys, values, 8);
+		f.defaultReturnValue(-1);
+		for(int i = 0; i < values.length; i++) assertEquals(i, f.getInt(keys.get(i)));
+		assertEquals(-1, f.getInt("AaAaAaAaAaAB"));
+	}
+}
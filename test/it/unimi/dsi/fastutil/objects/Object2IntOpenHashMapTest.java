@@ -214,5 +214,25 @@ public class Object2IntOpenHashMapTest {
 		test(1000, Hash.FAST_LOAD_FACTOR);
 		test(1000, Hash.VERY_FAST_LOAD_FACTOR);
 	}
-}
 
+	@Test
+	public void testMergeIntImplicitLambda() {
+		final Object2IntOpenHashMap<String> m = new Object2IntOpenHashMap<>();
+		assertEquals(1, m.mergeInt("x", 1, (a, b) -> a + b));
+		assertEquals(3, m.mergeInt("x", 2, (a, b) -> a + b));
+		assertEquals(4, m.computeInt("x", x -> x + 1));
+		assertEquals(4, m.getInt("x"));
+	}
+
+	@Test
+	public void testForEachBoxedLambda() {
+		final Object2IntOpenHashMap<String> m = new Object2IntOpenHashMap<>();
+		m.put("a", 1);
+		m.put("b", 2);
+		final int[] sum = new int[2];
+		m.forEach((k, v) -> sum[0] += v.intValue());
+		m.forEachPrimitive((k, v) -> sum[1] += v);
+		assertEquals(3, sum[0]);
+		assertEquals(3, sum[1]);
+	}
+}
@@ -0,0 +1,95 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class ObjectFrozenHashSetTest {
+
+	private static final class CountingKey {
+		static int equalsCalls;
+		final int id;
+
+		CountingKey(final int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			equalsCalls++;
+			return o instanceof CountingKey && ((CountingKey)o).id == id;
+		}
+	}
+
+	@Test
+	public void testStrings() {
+		final ObjectOpenHashSet<String> s = new ObjectOpenHashSet<>();
+		for(int i = 0; i < 10000; i++) s.add(Integer.toString(i));
+		s.add(null);
+		final ObjectFrozenHashSet<String> frozen = s.freeze();
+		assertEquals(s, frozen);
+		assertEquals(frozen, s);
+		assertEquals(s.hashCode(), frozen.hashCode());
+		for(int i = -10000; i < 20000; i++) assertEquals(s.contains(Integer.toString(i)), frozen.contains(Integer.toString(i)));
+		assertTrue(frozen.contains(null));
+	}
+
+	@Test
+	public void testCachedHashes() {
+		final ObjectOpenHashSet<CountingKey> s = new ObjectOpenHashSet<>();
+		for(int i = 0; i < 10000; i++) s.add(new CountingKey(i));
+		final ObjectFrozenHashSet<CountingKey> frozen = s.freeze(1);
+		CountingKey.equalsCalls = 0;
+		for(int i = 0; i < 10000; i++) assertTrue(frozen.contains(new CountingKey(i)));
+		// Distinct keys have distinct hash codes, so equals() is called only on a match.
+		assertEquals(10000, CountingKey.equalsCalls);
+		for(int i = 10000; i < 20000; i++) assertFalse(frozen.contains(new CountingKey(i)));
+		assertEquals(10000, CountingKey.equalsCalls);
+	}
+
+	@Test
+	public void testSerializationReference() throws IOException, ClassNotFoundException {
+		final ReferenceOpenHashSet<Integer> s = new ReferenceOpenHashSet<>();
+		for(int i = 0; i < 100; i++) s.add(Integer.valueOf(1000 + i));
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(s.freeze());
+		}
+		@SuppressWarnings("unchecked")
+		final ReferenceFrozenHashSet<Integer> t = (ReferenceFrozenHashSet<Integer>)new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		assertEquals(100, t.size());
+		// Deserialized keys have new identity hash codes, so the table must have been rebuilt.
+		int found = 0;
+		for(final Integer k : t) if (t.contains(k)) found++;
+		assertEquals(100, found);
+	}
+}
@@ -0,0 +1,51 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class Reference2IntFrozenHashMapTest {
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Reference2IntOpenHashMap<Integer> m = new Reference2IntOpenHashMap<>();
+		for(int i = 0; i < 100; i++) m.put(Integer.valueOf(1000 + i), i);
+		m.put(null, -1);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(m.freeze());
+		}
+		@SuppressWarnings("unchecked")
+		final Reference2IntFrozenHashMap<Integer> t = (Reference2IntFrozenHashMap<Integer>)new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		assertEquals(101, t.size());
+		assertEquals(-1, t.getInt(null));
+		// Deserialized keys have new identity hash codes, so the table must have been rebuilt.
+		int found = 0;
+		for(final Reference2IntMap.Entry<Integer> e : t.reference2IntEntrySet()) {
+			if (e.getKey() != null && t.getInt(e.getKey()) == e.getKey().intValue() - 1000) found++;
+		}
+		assertEquals(100, found);
+	}
+}